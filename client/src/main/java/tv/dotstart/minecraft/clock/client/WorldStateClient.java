@@ -30,7 +30,11 @@ import java.net.InetSocketAddress;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import tv.dotstart.minecraft.clock.network.TickSamples;
+import tv.dotstart.minecraft.clock.network.WorldClock;
 import tv.dotstart.minecraft.clock.network.WorldStatePacket;
+import tv.dotstart.minecraft.clock.network.diagnostics.Diagnostics;
 
 /**
  * Provides a client implementation which is capable of pushing world state updates to a local
@@ -145,6 +149,7 @@ public class WorldStateClient {
     private int worldTime;
     private boolean gamePaused;
     private boolean currentlyRaining;
+    private TickSamples samples;
 
     private UpdateBuilder() {
     }
@@ -167,20 +172,34 @@ public class WorldStateClient {
           throw new IllegalStateException("Cannot push update: Client is not connected");
         }
 
-        ByteBuf data = WorldStateClient.this.channel.alloc().buffer();
-        this.buildPacket().write(data);
+        Object diagnosticHandle = Diagnostics.beginWorldStateSend();
 
+        int sampleCount = this.samples == null ? 0 : this.samples.size();
+        ByteBuf data = WorldStateClient.this.channel.alloc()
+            .buffer(WorldStatePacket.getLength(sampleCount));
+        WorldStatePacket.write(data, this.worldTime, this.gamePaused, this.currentlyRaining,
+            this.samples);
+
+        // the result of the write is never inspected and thus no promise is allocated for it
         WorldStateClient.this.channel.writeAndFlush(
-            new DatagramPacket(data, WorldStateClient.this.address)
+            new DatagramPacket(data, WorldStateClient.this.address),
+            WorldStateClient.this.channel.voidPromise()
         );
+
+        Diagnostics.commitWorldStateSend(diagnosticHandle, this.worldTime, this.gamePaused,
+            this.currentlyRaining);
       } finally {
         WorldStateClient.this.lock.unlock();
       }
     }
 
+    /**
+     * Sets the world time (the time is reduced to a time of day since the protocol merely
+     * transmits the position within the current day/night cycle).
+     */
     @Nonnull
-    public UpdateBuilder setWorldTime(int worldTime) {
-      this.worldTime = worldTime;
+    public UpdateBuilder setWorldTime(long worldTime) {
+      this.worldTime = WorldClock.normalize(worldTime);
       return this;
     }
 
@@ -195,5 +214,15 @@ public class WorldStateClient {
       this.currentlyRaining = currentlyRaining;
       return this;
     }
+
+    /**
+     * Attaches a batch of recent world time samples to the update (permitting the server to
+     * derive the current tick rate without having to observe multiple updates).
+     */
+    @Nonnull
+    public UpdateBuilder setSamples(@Nullable TickSamples samples) {
+      this.samples = samples;
+      return this;
+    }
   }
 }
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tv.dotstart.minecraft.clock.client;
+
+import static tv.dotstart.minecraft.clock.network.AllocationMeter.assertAllocations;
+
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import tv.dotstart.minecraft.clock.network.TickSamples;
+
+/**
+ * Ensures that pushing world state updates does not allocate beyond the objects required by the
+ * transport.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class WorldStateClientAllocationTest {
+
+  /**
+   * Defines the amount of memory which may be allocated for every pushed update (the builder, the
+   * datagram envelope and the task which hands the write to the event loop as well as the pooled
+   * buffer handles which Netty cannot recycle across threads).
+   */
+  private static final long PUSH_BUDGET = 320;
+
+  private final TickSamples samples = new TickSamples(16);
+  private DatagramSocket receiver;
+  private WorldStateClient client;
+
+  @Before
+  public void connect() throws Exception {
+    // datagrams are sent to a local socket which is never read (the operating system discards
+    // them once its receive buffer is exhausted)
+    this.receiver = new DatagramSocket(0, InetAddress.getLoopbackAddress());
+    this.client = new WorldStateClient(
+        new InetSocketAddress(InetAddress.getLoopbackAddress(), this.receiver.getLocalPort()));
+    this.client.connect();
+
+    for (int i = 0; i < this.samples.capacity(); ++i) {
+      this.samples.record(24_000 + i * 20, i * 1_000_000_000L);
+    }
+  }
+
+  @After
+  public void disconnect() {
+    this.client.disconnect();
+    this.receiver.close();
+  }
+
+  @Test
+  public void testPush() {
+    assertAllocations("Pushing an update", PUSH_BUDGET, () -> this.client.update()
+        .setWorldTime(6000)
+        .setGamePaused(false)
+        .setCurrentlyRaining(true)
+        .setSamples(this.samples)
+        .push());
+  }
+}
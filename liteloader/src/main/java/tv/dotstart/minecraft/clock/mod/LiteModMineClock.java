@@ -25,6 +25,7 @@ import javax.annotation.Nonnull;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.multiplayer.WorldClient;
 import tv.dotstart.minecraft.clock.client.WorldStateClient;
+import tv.dotstart.minecraft.clock.network.TickSamples;
 
 /**
  * Provides a mod implementation which automatically synchronizes the current game state to any
@@ -36,9 +37,23 @@ public class LiteModMineClock implements Tickable {
 
   private static final Duration SYNCHRONIZATION_PERIOD = Duration.ofSeconds(10);
 
+  /**
+   * Defines the amount of world time samples which are transmitted with every update.
+   */
+  private static final int SAMPLE_COUNT = 16;
+
+  /**
+   * Defines the minimum period between two world time samples (in nanoseconds).
+   */
+  private static final long SAMPLE_PERIOD = Duration.ofSeconds(1).toNanos();
+
   private final WorldStateClient client;
+  private final TickSamples samples = new TickSamples(SAMPLE_COUNT);
 
   private Instant lastSynchronization = Instant.EPOCH;
+  private WorldClient sampledWorld;
+  private boolean sampledPaused;
+  private long lastSample;
 
   public LiteModMineClock() {
     this.client = new WorldStateClient(); // TODO: Configuration
@@ -51,24 +66,53 @@ public class LiteModMineClock implements Tickable {
   public void onTick(@Nonnull Minecraft minecraft, float partialTicks, boolean inGame,
       boolean clock) {
     if (!inGame) {
+      this.samples.clear();
+      this.sampledWorld = null;
       return;
     }
 
+    WorldClient world = minecraft.world;
+    this.sample(world, minecraft.isGamePaused(), clock);
+
     if (this.lastSynchronization.plus(SYNCHRONIZATION_PERIOD).isAfter(Instant.now())) {
       return;
     }
 
-    WorldClient world = minecraft.world;
-
     this.client.update()
-        .setWorldTime((int) world.getWorldTime())
+        .setWorldTime(world.getWorldTime())
         .setGamePaused(minecraft.isGamePaused())
         .setCurrentlyRaining(world.isRaining())
+        .setSamples(this.samples)
         .push();
 
     this.lastSynchronization = Instant.now();
   }
 
+  /**
+   * Records the current world time as a sample once per sample period.
+   *
+   * <p>Samples are discarded whenever the player switches worlds (since the world times are
+   * unrelated) or the game is paused or resumed (since the world time does not advance while the
+   * game is paused and mixing samples from both periods would thus result in an underestimated
+   * tick rate). No samples are recorded while the game is paused.</p>
+   */
+  private void sample(@Nonnull WorldClient world, boolean paused, boolean clock) {
+    if (world != this.sampledWorld || paused != this.sampledPaused) {
+      this.samples.clear();
+      this.sampledWorld = world;
+      this.sampledPaused = paused;
+    }
+
+    long now = System.nanoTime();
+    if (paused || !clock
+        || (this.samples.size() != 0 && now - this.lastSample < SAMPLE_PERIOD)) {
+      return;
+    }
+
+    this.samples.record(world.getWorldTime(), now);
+    this.lastSample = now;
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -0,0 +1,81 @@
+package tv.dotstart.minecraft.clock.network;
+
+import io.netty.buffer.ByteBuf;
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+/**
+ * <p>Estimates the rate at which the world time advances based on a series of samples.</p>
+ *
+ * <p>The rate is computed as the slope of a least squares fit through all samples (relative to the
+ * first sample in order to retain precision). Samples are expected to carry absolute world times
+ * (e.g. times which are not reduced to a time of day) in order to permit estimation across day
+ * boundaries.</p>
+ *
+ * <p>The fit is computed in a single pass directly over the binary representation of the samples
+ * and thus does not allocate.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public final class TickRateEstimator {
+
+  /**
+   * Defines the highest plausible tick rate (in ticks per second). Higher estimates are typically
+   * caused by the world time being changed manually while samples were taken.
+   */
+  public static final double MAXIMUM_TICK_RATE = 1000;
+
+  private TickRateEstimator() {
+  }
+
+  /**
+   * Reads a series of samples (each consisting of an absolute world time in ticks followed by the
+   * monotonic time in nanoseconds at which it has been observed) and estimates the tick rate.
+   *
+   * @param buffer a buffer which is positioned at the first sample (its reader index is advanced
+   * past the last sample).
+   * @param count the amount of samples to read.
+   * @return a rate (in ticks per second) or {@link Double#NaN} if no rate can be derived from the
+   * samples (e.g. when less than two samples are given, all samples have been observed at the same
+   * time or the world time appears to go backwards or jump ahead).
+   */
+  public static double estimate(@Nonnull ByteBuf buffer, @Nonnegative int count) {
+    long referenceTicks = 0;
+    long referenceTimestamp = 0;
+
+    double sumX = 0;
+    double sumY = 0;
+    double sumXX = 0;
+    double sumXY = 0;
+
+    for (int i = 0; i < count; ++i) {
+      long ticks = buffer.readLong();
+      long timestamp = buffer.readLong();
+
+      if (i == 0) {
+        referenceTicks = ticks;
+        referenceTimestamp = timestamp;
+      }
+
+      double x = (timestamp - referenceTimestamp) / 1_000_000_000.0;
+      double y = ticks - referenceTicks;
+
+      sumX += x;
+      sumY += y;
+      sumXX += x * x;
+      sumXY += x * y;
+    }
+
+    if (count < 2) {
+      return Double.NaN;
+    }
+
+    double denominator = count * sumXX - sumX * sumX;
+    if (denominator <= 0) {
+      return Double.NaN;
+    }
+
+    double rate = (count * sumXY - sumX * sumY) / denominator;
+    return rate < 0 || rate > MAXIMUM_TICK_RATE ? Double.NaN : rate;
+  }
+}
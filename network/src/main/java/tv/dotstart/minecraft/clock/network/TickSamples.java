@@ -0,0 +1,85 @@
+package tv.dotstart.minecraft.clock.network;
+
+import javax.annotation.Nonnegative;
+
+/**
+ * <p>Retains the most recent world time samples which are observed by a client in order to
+ * transmit them alongside a world state update.</p>
+ *
+ * <p>Samples are stored within pre-allocated primitive arrays which are used as a ring buffer and
+ * are indexed from oldest ({@code 0}) to newest ({@code size() - 1}). Instances of this class are
+ * not thread safe.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public final class TickSamples {
+
+  private final int capacity;
+  private final long[] ticks;
+  private final long[] timestamps;
+  private int head;
+  private int size;
+
+  /**
+   * @param capacity the maximum amount of retained samples (at most {@link
+   * WorldStatePacket#MAXIMUM_SAMPLES}).
+   */
+  public TickSamples(@Nonnegative int capacity) {
+    if (capacity <= 0 || capacity > WorldStatePacket.MAXIMUM_SAMPLES) {
+      throw new IllegalArgumentException("Illegal capacity: " + capacity);
+    }
+
+    this.capacity = capacity;
+    this.ticks = new long[capacity];
+    this.timestamps = new long[capacity];
+  }
+
+  /**
+   * Records a sample (the oldest sample is discarded when the buffer is full).
+   *
+   * @param ticks an absolute world time (in ticks).
+   * @param timestamp the monotonic time (in nanoseconds) at which the world time was observed.
+   */
+  public void record(long ticks, long timestamp) {
+    int index;
+    if (this.size == this.capacity) {
+      index = this.head;
+      this.head = (this.head + 1) % this.capacity;
+    } else {
+      index = (this.head + this.size++) % this.capacity;
+    }
+
+    this.ticks[index] = ticks;
+    this.timestamps[index] = timestamp;
+  }
+
+  /**
+   * Discards all samples.
+   */
+  public void clear() {
+    this.head = 0;
+    this.size = 0;
+  }
+
+  public int capacity() {
+    return this.capacity;
+  }
+
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Retrieves the world time of a sample (in ticks).
+   */
+  public long getTicks(@Nonnegative int i) {
+    return this.ticks[(this.head + i) % this.capacity];
+  }
+
+  /**
+   * Retrieves the monotonic time (in nanoseconds) at which a sample has been observed.
+   */
+  public long getTimestamp(@Nonnegative int i) {
+    return this.timestamps[(this.head + i) % this.capacity];
+  }
+}
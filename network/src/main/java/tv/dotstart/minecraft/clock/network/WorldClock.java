@@ -0,0 +1,273 @@
+package tv.dotstart.minecraft.clock.network;
+
+import java.util.function.LongSupplier;
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+/**
+ * <p>Models the progression of time within a Minecraft world.</p>
+ *
+ * <p>The clock is anchored to the most recently observed world time and extrapolates the current
+ * time based on a monotonic time source and the world's tick rate (which defaults to the nominal
+ * rate of {@link #TICKS_PER_SECOND}). Ticks are tracked as absolute values and are only reduced to
+ * a time of day when requested in order to avoid accumulating errors.</p>
+ *
+ * <p>Instances of this class are not thread safe and are expected to be accessed by a single
+ * thread.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public final class WorldClock {
+
+  /**
+   * Defines the total amount of ticks which have to pass for a full day/night cycle to be
+   * completed.
+   */
+  public static final int TICKS_PER_DAY = 24000;
+
+  /**
+   * Defines the amount of ticks a server processes per second (assuming that it is not lagging).
+   */
+  public static final int TICKS_PER_SECOND = 20;
+
+  /**
+   * Defines the total amount of in-game minutes within a single day/night cycle.
+   */
+  public static final int MINUTES_PER_DAY = 24 * 60;
+
+  /**
+   * Defines the hour of day at which a day/night cycle begins (e.g. world time zero).
+   */
+  private static final int DAY_START_HOUR = 6;
+
+  private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+  private final LongSupplier timeSource;
+  private long referenceTicks;
+  private long referenceTimestamp;
+  private double tickRate = TICKS_PER_SECOND;
+  private boolean paused;
+
+  /**
+   * @param timeSource a monotonic time source which returns a timestamp in nanoseconds.
+   */
+  public WorldClock(@Nonnull LongSupplier timeSource) {
+    this.timeSource = timeSource;
+    this.referenceTimestamp = timeSource.getAsLong();
+  }
+
+  public WorldClock() {
+    this(System::nanoTime);
+  }
+
+  /**
+   * Normalizes an arbitrary world time into the range of a single day/night cycle.
+   *
+   * @param ticks a world time in ticks.
+   * @return a tick index between zero and {@link #TICKS_PER_DAY} (exclusive).
+   */
+  @Nonnegative
+  public static int normalize(long ticks) {
+    return (int) Math.floorMod(ticks, (long) TICKS_PER_DAY);
+  }
+
+  /**
+   * Calculates the shortest distance between two positions within the day/night cycle (e.g. a
+   * correction from tick 23990 to tick 10 is considered to be a step of 20 ticks forward rather
+   * than a step of 23980 ticks backward).
+   *
+   * @param from a world time in ticks.
+   * @param to a world time in ticks.
+   * @return a signed amount of ticks between minus and plus half of {@link #TICKS_PER_DAY}.
+   */
+  public static int difference(long from, long to) {
+    int difference = normalize(to - from);
+
+    if (difference >= TICKS_PER_DAY / 2) {
+      difference -= TICKS_PER_DAY;
+    }
+
+    return difference;
+  }
+
+  /**
+   * Converts a world time into its respective minute of the day.
+   *
+   * @param ticks a world time in ticks.
+   * @return a minute index (relative to the beginning of the day/night cycle).
+   */
+  @Nonnegative
+  public static int getMinuteOfDay(long ticks) {
+    return (normalize(ticks) * MINUTES_PER_DAY) / TICKS_PER_DAY;
+  }
+
+  /**
+   * Retrieves the hour (in 24-hour format) of a given minute of the day.
+   *
+   * @param minuteOfDay a minute index as returned by {@link #getMinuteOfDay(long)}.
+   * @return an hour between zero and 23.
+   */
+  @Nonnegative
+  public static int getHour(@Nonnegative int minuteOfDay) {
+    return (DAY_START_HOUR + (minuteOfDay / 60)) % 24;
+  }
+
+  /**
+   * Retrieves the minute within the hour of a given minute of the day.
+   *
+   * @param minuteOfDay a minute index as returned by {@link #getMinuteOfDay(long)}.
+   * @return a minute between zero and 59.
+   */
+  @Nonnegative
+  public static int getMinute(@Nonnegative int minuteOfDay) {
+    return minuteOfDay % 60;
+  }
+
+  /**
+   * Formats a given minute of the day as a human readable time.
+   *
+   * @param minuteOfDay a minute index as returned by {@link #getMinuteOfDay(long)}.
+   * @param display24HourTime true if the time shall be formatted in 24-hour format, false if a
+   * 12-hour format is desired.
+   * @return a formatted time.
+   */
+  @Nonnull
+  public static String format(@Nonnegative int minuteOfDay, boolean display24HourTime) {
+    int hours = getHour(minuteOfDay);
+    int minutes = getMinute(minuteOfDay);
+
+    if (display24HourTime) {
+      return String.format("%02d:%02d", hours, minutes);
+    }
+
+    boolean pm = false;
+
+    if (hours > 12) {
+      hours %= 12;
+      pm = true;
+    } else if (hours == 12 && minutes > 0) {
+      pm = true;
+    }
+
+    return String.format("%02d:%02d %s", hours, minutes, (pm ? "PM" : "AM"));
+  }
+
+  /**
+   * Anchors the clock to an observed world state.
+   *
+   * @param timestamp the monotonic time at which the state has been observed.
+   * @param ticks the world time at the time of observation.
+   * @param paused true if the world is paused, false otherwise.
+   */
+  public void synchronize(long timestamp, long ticks, boolean paused) {
+    this.referenceTimestamp = timestamp;
+    this.referenceTicks = ticks;
+    this.paused = paused;
+  }
+
+  /**
+   * Retrieves the extrapolated world time at a given point in time.
+   *
+   * @param timestamp a monotonic timestamp (as returned by the time source).
+   * @return an absolute world time in ticks.
+   */
+  public long getTicks(long timestamp) {
+    if (this.paused) {
+      return this.referenceTicks;
+    }
+
+    return this.referenceTicks
+        + (long) ((timestamp - this.referenceTimestamp) * this.tickRate / NANOS_PER_SECOND);
+  }
+
+  /**
+   * Retrieves the extrapolated world time.
+   *
+   * @return an absolute world time in ticks.
+   */
+  public long getTicks() {
+    return this.getTicks(this.timeSource.getAsLong());
+  }
+
+  /**
+   * Sets the current world time (the clock continues to progress from the new time unless it is
+   * paused).
+   *
+   * @param ticks a world time in ticks.
+   */
+  public void setTicks(long ticks) {
+    this.referenceTimestamp = this.timeSource.getAsLong();
+    this.referenceTicks = ticks;
+  }
+
+  /**
+   * Retrieves the extrapolated time of day at a given point in time.
+   *
+   * @param timestamp a monotonic timestamp (as returned by the time source).
+   * @return a tick index between zero and {@link #TICKS_PER_DAY} (exclusive).
+   */
+  @Nonnegative
+  public int getTimeOfDay(long timestamp) {
+    return normalize(this.getTicks(timestamp));
+  }
+
+  /**
+   * Retrieves the extrapolated time of day.
+   *
+   * @return a tick index between zero and {@link #TICKS_PER_DAY} (exclusive).
+   */
+  @Nonnegative
+  public int getTimeOfDay() {
+    return this.getTimeOfDay(this.timeSource.getAsLong());
+  }
+
+  /**
+   * Retrieves the rate (in ticks per second) at which the clock progresses.
+   */
+  public double getTickRate() {
+    return this.tickRate;
+  }
+
+  /**
+   * Adjusts the rate at which the clock progresses from now on.
+   *
+   * @param tickRate a rate in ticks per second.
+   */
+  public void setTickRate(double tickRate) {
+    if (!(tickRate >= 0)) {
+      throw new IllegalArgumentException("Illegal tick rate: " + tickRate);
+    }
+
+    this.rebase();
+    this.tickRate = tickRate;
+  }
+
+  public boolean isPaused() {
+    return this.paused;
+  }
+
+  /**
+   * Pauses or resumes the clock at its current world time.
+   *
+   * @param paused true if the clock shall be paused, false otherwise.
+   */
+  public void setPaused(boolean paused) {
+    if (this.paused == paused) {
+      return;
+    }
+
+    this.rebase();
+    this.paused = paused;
+  }
+
+  /**
+   * Moves the reference point of the clock to the current time in order to permit changing
+   * parameters without affecting the time which has already passed.
+   */
+  private void rebase() {
+    long timestamp = this.timeSource.getAsLong();
+
+    this.referenceTicks = this.getTicks(timestamp);
+    this.referenceTimestamp = timestamp;
+  }
+}
@@ -3,23 +3,49 @@ package tv.dotstart.minecraft.clock.network;
 import io.netty.buffer.ByteBuf;
 import java.util.Objects;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 /**
- * Provides a serializable representation of the current world state of a Minecraft server
- * (including its current weather and time).
+ * <p>Provides a serializable representation of the current world state of a Minecraft server
+ * (including its current weather and time).</p>
+ *
+ * <p>Packets may optionally carry a batch of recent world time samples (see {@link TickSamples})
+ * which are appended to the legacy representation as an unsigned byte count followed by pairs of
+ * absolute world time and monotonic timestamp. Receivers which are unaware of this extension simply
+ * ignore the trailing bytes while aware receivers derive the current tick rate from the
+ * samples.</p>
  *
  * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
  */
 public class WorldStatePacket {
 
+  /**
+   * Defines the length of the binary representation of a state packet (in bytes).
+   */
+  public static final int LENGTH = 4;
+
+  /**
+   * Defines the length of the binary representation of a single world time sample (in bytes).
+   */
+  public static final int SAMPLE_LENGTH = 16;
+
+  /**
+   * Defines the maximum amount of samples which may be transmitted within a single packet.
+   */
+  public static final int MAXIMUM_SAMPLES = 64;
+
   private final int time;
   private final boolean paused;
   private final boolean raining;
+  private final int sampleCount;
+  private final double tickRate;
 
   public WorldStatePacket(int time, boolean paused, boolean raining) {
     this.time = time;
     this.paused = paused;
     this.raining = raining;
+    this.sampleCount = 0;
+    this.tickRate = Double.NaN;
   }
 
   /**
@@ -29,6 +55,33 @@ public class WorldStatePacket {
     this.time = buffer.readUnsignedShort();
     this.paused = buffer.readBoolean();
     this.raining = buffer.readBoolean();
+
+    int sampleCount = 0;
+    double tickRate = Double.NaN;
+
+    if (buffer.isReadable()) {
+      int count = buffer.readUnsignedByte();
+
+      if (count <= MAXIMUM_SAMPLES && buffer.readableBytes() >= count * SAMPLE_LENGTH) {
+        sampleCount = count;
+        tickRate = TickRateEstimator.estimate(buffer, count);
+      }
+    }
+
+    this.sampleCount = sampleCount;
+    this.tickRate = tickRate;
+  }
+
+  /**
+   * Calculates the length of the binary representation of a packet which carries the specified
+   * amount of samples.
+   */
+  public static int getLength(int sampleCount) {
+    if (sampleCount == 0) {
+      return LENGTH;
+    }
+
+    return LENGTH + 1 + sampleCount * SAMPLE_LENGTH;
   }
 
   public int getTime() {
@@ -43,13 +96,56 @@ public class WorldStatePacket {
     return this.raining;
   }
 
+  /**
+   * Retrieves the amount of world time samples which have been transmitted with this packet.
+   */
+  public int getSampleCount() {
+    return this.sampleCount;
+  }
+
+  /**
+   * Retrieves the tick rate (in ticks per second) which has been estimated from the samples within
+   * this packet.
+   *
+   * @return a tick rate or {@link Double#NaN} if the packet carries no (usable) samples.
+   */
+  public double getTickRate() {
+    return this.tickRate;
+  }
+
   /**
    * Serializes the world state packet into the supplied buffer.
    */
   public void write(@Nonnull ByteBuf buffer) {
-    buffer.writeShort(this.time);
-    buffer.writeBoolean(this.paused);
-    buffer.writeBoolean(this.raining);
+    write(buffer, this.time, this.paused, this.raining);
+  }
+
+  /**
+   * Serializes a world state into the supplied buffer without creating an intermediate packet.
+   */
+  public static void write(@Nonnull ByteBuf buffer, int time, boolean paused, boolean raining) {
+    buffer.writeShort(time);
+    buffer.writeBoolean(paused);
+    buffer.writeBoolean(raining);
+  }
+
+  /**
+   * Serializes a world state along with a batch of world time samples into the supplied buffer.
+   */
+  public static void write(@Nonnull ByteBuf buffer, int time, boolean paused, boolean raining,
+      @Nullable TickSamples samples) {
+    write(buffer, time, paused, raining);
+
+    if (samples == null || samples.size() == 0) {
+      return;
+    }
+
+    int count = samples.size();
+    buffer.writeByte(count);
+    for (int i = 0; i < count; ++i) {
+      buffer.writeLong(samples.getTicks(i));
+      buffer.writeLong(samples.getTimestamp(i));
+    }
   }
 
   /**
@@ -1,12 +1,16 @@
 package tv.dotstart.minecraft.clock.network;
 
+import io.netty.channel.AddressedEnvelope;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.DefaultAddressedEnvelope;
 import io.netty.channel.socket.DatagramPacket;
 import io.netty.handler.codec.MessageToMessageDecoder;
 import java.util.List;
+import tv.dotstart.minecraft.clock.network.diagnostics.Diagnostics;
 
 /**
- * Decodes incoming datagram packets into their respective POJO representation.
+ * Decodes incoming datagram packets into their respective POJO representation (the decoded packets
+ * are passed on within an {@link AddressedEnvelope} in order to retain their origin).
  *
  * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
  */
@@ -17,6 +21,13 @@ public class WorldStatePacketDecoder extends MessageToMessageDecoder<DatagramPac
    */
   @Override
   protected void decode(ChannelHandlerContext ctx, DatagramPacket msg, List<Object> out) {
-    out.add(new WorldStatePacket(msg.content()));
+    Object diagnosticHandle = Diagnostics.beginDatagramDecode();
+    int length = msg.content().readableBytes();
+
+    WorldStatePacket packet = new WorldStatePacket(msg.content());
+    out.add(new DefaultAddressedEnvelope<>(packet, msg.recipient(), msg.sender()));
+
+    Diagnostics.commitDatagramDecode(diagnosticHandle, length, packet.getTime(), packet.isPaused(),
+        packet.isRaining());
   }
 }
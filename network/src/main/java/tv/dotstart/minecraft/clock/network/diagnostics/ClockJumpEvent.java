@@ -0,0 +1,30 @@
+package tv.dotstart.minecraft.clock.network.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Represents a discontinuous change of the displayed world time.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+@Name("tv.dotstart.mineclock.ClockJump")
+@Label("Clock Jump")
+@Category({"MineClock", "Rendering"})
+@Description("Discontinuous change of the displayed world time")
+final class ClockJumpEvent extends Event {
+
+  @Label("Previous World Time")
+  long from;
+
+  @Label("World Time")
+  long to;
+
+  @Label("Correction")
+  @Description("Amount of ticks by which the displayed world time has been corrected (along the "
+      + "shortest path through the day/night cycle)")
+  long correction;
+}
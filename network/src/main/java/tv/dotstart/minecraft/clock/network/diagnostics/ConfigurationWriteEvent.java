@@ -0,0 +1,25 @@
+package tv.dotstart.minecraft.clock.network.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Represents the persistence of the application configuration.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+@Name("tv.dotstart.mineclock.ConfigurationWrite")
+@Label("Configuration Write")
+@Category({"MineClock", "Configuration"})
+@Description("Persistence of the application configuration")
+final class ConfigurationWriteEvent extends Event {
+
+  @Label("Path")
+  String path;
+
+  @Label("Entries")
+  int entries;
+}
@@ -0,0 +1,33 @@
+package tv.dotstart.minecraft.clock.network.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Represents the decoding of a received world state datagram.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+@Name("tv.dotstart.mineclock.DatagramDecode")
+@Label("Datagram Decode")
+@Category({"MineClock", "Synchronization"})
+@Description("Decoding of a received world state datagram")
+final class DatagramDecodeEvent extends Event {
+
+  @Label("Length")
+  @DataAmount
+  int length;
+
+  @Label("World Time")
+  int time;
+
+  @Label("Paused")
+  boolean paused;
+
+  @Label("Raining")
+  boolean raining;
+}
@@ -0,0 +1,170 @@
+package tv.dotstart.minecraft.clock.network.diagnostics;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import tv.dotstart.minecraft.clock.network.WorldClock;
+
+/**
+ * Exposes diagnostic hooks for the synchronization and render pipeline which are reported to the
+ * Java Flight Recorder when it is present within the running VM.
+ *
+ * <p>Duration based hooks come in pairs: The {@code begin} method returns an opaque handle (or
+ * {@code null} when the respective event is not being recorded at the moment) which is to be
+ * passed back to its matching {@code commit} method once the operation completes. When the VM
+ * does not provide the Flight Recorder API (or it has been disabled via the
+ * {@code mineclock.diagnostics} system property), all hooks reduce to a single constant check and
+ * the {@code jdk.jfr} API is never loaded.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public final class Diagnostics {
+
+  /**
+   * Defines the name of the system property which may be used to disable all diagnostic hooks.
+   */
+  public static final String ENABLED_PROPERTY = "mineclock.diagnostics";
+
+  /**
+   * Defines the amount of ticks by which the displayed world time may be corrected before the
+   * correction is considered a jump (one second worth of ticks).
+   */
+  public static final int CLOCK_JUMP_THRESHOLD = WorldClock.TICKS_PER_SECOND;
+
+  private static final boolean AVAILABLE = checkAvailability();
+
+  private Diagnostics() {
+  }
+
+  /**
+   * Evaluates whether the Flight Recorder API is present and has not been disabled.
+   */
+  private static boolean checkAvailability() {
+    if (!Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY, "true"))) {
+      return false;
+    }
+
+    try {
+      Class.forName("jdk.jfr.FlightRecorder", false, Diagnostics.class.getClassLoader());
+      return FlightRecorderEvents.isAvailable();
+    } catch (ClassNotFoundException | LinkageError ex) {
+      return false;
+    }
+  }
+
+  /**
+   * Evaluates whether diagnostic events are reported to the Flight Recorder.
+   */
+  public static boolean isAvailable() {
+    return AVAILABLE;
+  }
+
+  /**
+   * Marks the beginning of the decoding of a received world state datagram.
+   */
+  @Nullable
+  public static Object beginDatagramDecode() {
+    return AVAILABLE ? FlightRecorderEvents.beginDatagramDecode() : null;
+  }
+
+  /**
+   * Marks the completion of the decoding of a received world state datagram.
+   */
+  public static void commitDatagramDecode(@Nullable Object handle, int length, int time,
+      boolean paused, boolean raining) {
+    if (handle != null) {
+      FlightRecorderEvents.commitDatagramDecode(handle, length, time, paused, raining);
+    }
+  }
+
+  /**
+   * Marks the beginning of the dispatch of a decoded world state to its consumers.
+   */
+  @Nullable
+  public static Object beginWorldStateDispatch() {
+    return AVAILABLE ? FlightRecorderEvents.beginWorldStateDispatch() : null;
+  }
+
+  /**
+   * Marks the completion of the dispatch of a decoded world state to its consumers.
+   */
+  public static void commitWorldStateDispatch(@Nullable Object handle, int time) {
+    if (handle != null) {
+      FlightRecorderEvents.commitWorldStateDispatch(handle, time);
+    }
+  }
+
+  /**
+   * Marks the beginning of the application of a world state to the user interface.
+   */
+  @Nullable
+  public static Object beginWorldStateApply() {
+    return AVAILABLE ? FlightRecorderEvents.beginWorldStateApply() : null;
+  }
+
+  /**
+   * Marks the completion of the application of a world state to the user interface.
+   *
+   * @param latency the amount of nanoseconds which have passed since the state was received.
+   */
+  public static void commitWorldStateApply(@Nullable Object handle, int time, long latency) {
+    if (handle != null) {
+      FlightRecorderEvents.commitWorldStateApply(handle, time, latency);
+    }
+  }
+
+  /**
+   * Reports a discontinuous change of the displayed world time (changes which do not exceed
+   * {@link #CLOCK_JUMP_THRESHOLD} ticks in either direction are considered regular drift and are
+   * not reported).
+   *
+   * @param from the previously displayed world time.
+   * @param to the newly displayed world time.
+   */
+  public static void clockJump(long from, long to) {
+    if (!AVAILABLE) {
+      return;
+    }
+
+    int correction = WorldClock.difference(from, to);
+
+    if (Math.abs(correction) > CLOCK_JUMP_THRESHOLD) {
+      FlightRecorderEvents.clockJump(from, to, correction);
+    }
+  }
+
+  /**
+   * Marks the beginning of a configuration write.
+   */
+  @Nullable
+  public static Object beginConfigurationWrite() {
+    return AVAILABLE ? FlightRecorderEvents.beginConfigurationWrite() : null;
+  }
+
+  /**
+   * Marks the completion of a configuration write.
+   */
+  public static void commitConfigurationWrite(@Nullable Object handle, @Nonnull String path,
+      int entries) {
+    if (handle != null) {
+      FlightRecorderEvents.commitConfigurationWrite(handle, path, entries);
+    }
+  }
+
+  /**
+   * Marks the beginning of the transmission of a world state update.
+   */
+  @Nullable
+  public static Object beginWorldStateSend() {
+    return AVAILABLE ? FlightRecorderEvents.beginWorldStateSend() : null;
+  }
+
+  /**
+   * Marks the completion of the transmission of a world state update.
+   */
+  public static void commitWorldStateSend(@Nullable Object handle, int time, boolean paused,
+      boolean raining) {
+    if (handle != null) {
+      FlightRecorderEvents.commitWorldStateSend(handle, time, paused, raining);
+    }
+  }
+}
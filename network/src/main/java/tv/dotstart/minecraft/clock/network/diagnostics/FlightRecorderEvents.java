@@ -0,0 +1,160 @@
+package tv.dotstart.minecraft.clock.network.diagnostics;
+
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+
+/**
+ * Provides the actual Flight Recorder backed implementation of the diagnostic hooks.
+ *
+ * <p>This type references the {@code jdk.jfr} API directly and is thus only ever loaded once
+ * {@link Diagnostics} verified that the API is present within the running VM.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+final class FlightRecorderEvents {
+
+  private static final EventType DATAGRAM_DECODE = EventType
+      .getEventType(DatagramDecodeEvent.class);
+  private static final EventType WORLD_STATE_DISPATCH = EventType
+      .getEventType(WorldStateDispatchEvent.class);
+  private static final EventType WORLD_STATE_APPLY = EventType
+      .getEventType(WorldStateApplyEvent.class);
+  private static final EventType CLOCK_JUMP = EventType.getEventType(ClockJumpEvent.class);
+  private static final EventType CONFIGURATION_WRITE = EventType
+      .getEventType(ConfigurationWriteEvent.class);
+  private static final EventType WORLD_STATE_SEND = EventType
+      .getEventType(WorldStateSendEvent.class);
+
+  private FlightRecorderEvents() {
+  }
+
+  /**
+   * Evaluates whether the Flight Recorder may be used within this VM.
+   */
+  static boolean isAvailable() {
+    return FlightRecorder.isAvailable();
+  }
+
+  static Object beginDatagramDecode() {
+    if (!DATAGRAM_DECODE.isEnabled()) {
+      return null;
+    }
+
+    DatagramDecodeEvent event = new DatagramDecodeEvent();
+    event.begin();
+    return event;
+  }
+
+  static void commitDatagramDecode(Object handle, int length, int time, boolean paused,
+      boolean raining) {
+    DatagramDecodeEvent event = (DatagramDecodeEvent) handle;
+    event.end();
+
+    if (event.shouldCommit()) {
+      event.length = length;
+      event.time = time;
+      event.paused = paused;
+      event.raining = raining;
+      event.commit();
+    }
+  }
+
+  static Object beginWorldStateDispatch() {
+    if (!WORLD_STATE_DISPATCH.isEnabled()) {
+      return null;
+    }
+
+    WorldStateDispatchEvent event = new WorldStateDispatchEvent();
+    event.begin();
+    return event;
+  }
+
+  static void commitWorldStateDispatch(Object handle, int time) {
+    WorldStateDispatchEvent event = (WorldStateDispatchEvent) handle;
+    event.end();
+
+    if (event.shouldCommit()) {
+      event.time = time;
+      event.commit();
+    }
+  }
+
+  static Object beginWorldStateApply() {
+    if (!WORLD_STATE_APPLY.isEnabled()) {
+      return null;
+    }
+
+    WorldStateApplyEvent event = new WorldStateApplyEvent();
+    event.begin();
+    return event;
+  }
+
+  static void commitWorldStateApply(Object handle, int time, long latency) {
+    WorldStateApplyEvent event = (WorldStateApplyEvent) handle;
+    event.end();
+
+    if (event.shouldCommit()) {
+      event.time = time;
+      event.latency = latency;
+      event.commit();
+    }
+  }
+
+  static void clockJump(long from, long to, int correction) {
+    if (!CLOCK_JUMP.isEnabled()) {
+      return;
+    }
+
+    ClockJumpEvent event = new ClockJumpEvent();
+
+    if (event.shouldCommit()) {
+      event.from = from;
+      event.to = to;
+      event.correction = correction;
+      event.commit();
+    }
+  }
+
+  static Object beginConfigurationWrite() {
+    if (!CONFIGURATION_WRITE.isEnabled()) {
+      return null;
+    }
+
+    ConfigurationWriteEvent event = new ConfigurationWriteEvent();
+    event.begin();
+    return event;
+  }
+
+  static void commitConfigurationWrite(Object handle, String path, int entries) {
+    ConfigurationWriteEvent event = (ConfigurationWriteEvent) handle;
+    event.end();
+
+    if (event.shouldCommit()) {
+      event.path = path;
+      event.entries = entries;
+      event.commit();
+    }
+  }
+
+  static Object beginWorldStateSend() {
+    if (!WORLD_STATE_SEND.isEnabled()) {
+      return null;
+    }
+
+    WorldStateSendEvent event = new WorldStateSendEvent();
+    event.begin();
+    return event;
+  }
+
+  static void commitWorldStateSend(Object handle, int time, boolean paused, boolean raining) {
+    WorldStateSendEvent event = (WorldStateSendEvent) handle;
+    event.end();
+
+    if (event.shouldCommit()) {
+      event.time = time;
+      event.paused = paused;
+      event.raining = raining;
+      event.commit();
+    }
+  }
+}
@@ -0,0 +1,28 @@
+package tv.dotstart.minecraft.clock.network.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Represents the application of a world state to the user interface.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+@Name("tv.dotstart.mineclock.WorldStateApply")
+@Label("World State Apply")
+@Category({"MineClock", "Synchronization"})
+@Description("Application of a received world state to the user interface")
+final class WorldStateApplyEvent extends Event {
+
+  @Label("World Time")
+  int time;
+
+  @Label("Latency")
+  @Description("Time passed between the reception of the world state and its application")
+  @Timespan(Timespan.NANOSECONDS)
+  long latency;
+}
@@ -0,0 +1,22 @@
+package tv.dotstart.minecraft.clock.network.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Represents the dispatch of a decoded world state to its consumers.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+@Name("tv.dotstart.mineclock.WorldStateDispatch")
+@Label("World State Dispatch")
+@Category({"MineClock", "Synchronization"})
+@Description("Dispatch of a decoded world state to its consumers")
+final class WorldStateDispatchEvent extends Event {
+
+  @Label("World Time")
+  int time;
+}
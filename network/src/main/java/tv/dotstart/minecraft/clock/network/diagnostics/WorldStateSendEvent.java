@@ -0,0 +1,28 @@
+package tv.dotstart.minecraft.clock.network.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Represents the transmission of a world state update by a client.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+@Name("tv.dotstart.mineclock.WorldStateSend")
+@Label("World State Send")
+@Category({"MineClock", "Synchronization"})
+@Description("Transmission of a world state update to a MineClock instance")
+final class WorldStateSendEvent extends Event {
+
+  @Label("World Time")
+  int time;
+
+  @Label("Paused")
+  boolean paused;
+
+  @Label("Raining")
+  boolean raining;
+}
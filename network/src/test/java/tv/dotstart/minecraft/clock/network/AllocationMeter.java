@@ -0,0 +1,88 @@
+package tv.dotstart.minecraft.clock.network;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+/**
+ * <p>Measures the amount of heap memory which is allocated by an operation using the per-thread
+ * allocation counters of the VM.</p>
+ *
+ * <p>Operations are executed repeatedly in order to permit the JIT to compile (and apply escape
+ * analysis to) the measured code before the actual measurement takes place. Only allocations
+ * performed by the calling thread are considered.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public final class AllocationMeter {
+
+  /**
+   * Defines the amount of invocations which are performed before an operation is measured.
+   */
+  public static final int WARMUP_ITERATIONS = 50_000;
+
+  /**
+   * Defines the amount of measured invocations.
+   */
+  public static final int MEASURED_ITERATIONS = 100_000;
+
+  private AllocationMeter() {
+  }
+
+  /**
+   * Evaluates whether the VM supports measuring per-thread allocations.
+   */
+  public static boolean isSupported() {
+    java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    return threads instanceof com.sun.management.ThreadMXBean
+        && ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported()
+        && ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemoryEnabled();
+  }
+
+  /**
+   * Retrieves the total amount of bytes which have been allocated by the calling thread.
+   */
+  public static long getAllocatedBytes() {
+    return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+        .getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+
+  /**
+   * Measures the average amount of bytes allocated per invocation of an operation (rounded down
+   * in order to disregard one-off allocations such as those performed by the measurement itself).
+   */
+  public static long measure(@Nonnull Runnable operation) {
+    for (int i = 0; i < WARMUP_ITERATIONS; ++i) {
+      operation.run();
+    }
+
+    long before = getAllocatedBytes();
+    for (int i = 0; i < MEASURED_ITERATIONS; ++i) {
+      operation.run();
+    }
+    long after = getAllocatedBytes();
+
+    return (after - before) / MEASURED_ITERATIONS;
+  }
+
+  /**
+   * Asserts that an operation allocates at most the specified amount of bytes per invocation (the
+   * test is skipped when the VM does not support measuring allocations).
+   *
+   * @param description a human readable description of the operation.
+   * @param budget the permitted amount of bytes per invocation.
+   * @param operation the measured operation.
+   */
+  public static void assertAllocations(@Nonnull String description, @Nonnegative long budget,
+      @Nonnull Runnable operation) {
+    assumeTrue("Per-thread allocation counters are not supported", isSupported());
+
+    long allocated = measure(operation);
+    assertTrue(description + " allocated " + allocated + " bytes per operation (budget: " + budget
+        + " bytes)", allocated <= budget);
+  }
+}
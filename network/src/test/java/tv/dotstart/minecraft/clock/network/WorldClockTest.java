@@ -0,0 +1,34 @@
+package tv.dotstart.minecraft.clock.network;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ * Validates the day/night cycle arithmetic provided by {@link WorldClock}.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class WorldClockTest {
+
+  @Test
+  public void testDifference() {
+    assertEquals(0, WorldClock.difference(6000, 6000));
+    assertEquals(20, WorldClock.difference(6000, 6020));
+    assertEquals(-20, WorldClock.difference(6020, 6000));
+  }
+
+  @Test
+  public void testDifferenceWrapped() {
+    assertEquals(20, WorldClock.difference(23990, 10));
+    assertEquals(-20, WorldClock.difference(10, 23990));
+    assertEquals(20, WorldClock.difference(23990, WorldClock.TICKS_PER_DAY * 3 + 10));
+  }
+
+  @Test
+  public void testDifferenceBounds() {
+    assertEquals(-WorldClock.TICKS_PER_DAY / 2, WorldClock.difference(0, 12000));
+    assertEquals(WorldClock.TICKS_PER_DAY / 2 - 1, WorldClock.difference(0, 11999));
+    assertEquals(-WorldClock.TICKS_PER_DAY / 2 + 1, WorldClock.difference(0, 12001));
+  }
+}
@@ -0,0 +1,71 @@
+package tv.dotstart.minecraft.clock.network;
+
+import static org.junit.Assert.assertEquals;
+import static tv.dotstart.minecraft.clock.network.AllocationMeter.assertAllocations;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Ensures that encoding and decoding world state packets does not allocate beyond the decoded
+ * packet itself.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class WorldStatePacketAllocationTest {
+
+  /**
+   * Defines the maximum size of a single packet instance (including its object header).
+   */
+  private static final long PACKET_SIZE = 40;
+
+  private final TickSamples samples = new TickSamples(16);
+  private final ByteBuf buffer = Unpooled.buffer(WorldStatePacket.getLength(16));
+  private long checksum;
+
+  @Before
+  public void prepare() {
+    for (int i = 0; i < this.samples.capacity(); ++i) {
+      this.samples.record(24_000 + i * 20, i * 1_000_000_000L);
+    }
+  }
+
+  @Test
+  public void testEncode() {
+    assertAllocations("Encoding a packet", 0, () -> {
+      this.buffer.clear();
+      WorldStatePacket.write(this.buffer, 6000, false, true);
+    });
+  }
+
+  @Test
+  public void testEncodeSamples() {
+    assertAllocations("Encoding a packet with samples", 0, () -> {
+      this.buffer.clear();
+      WorldStatePacket.write(this.buffer, 6000, false, true, this.samples);
+    });
+  }
+
+  @Test
+  public void testDecode() {
+    WorldStatePacket.write(this.buffer, 6000, false, true);
+
+    assertAllocations("Decoding a packet", PACKET_SIZE, () -> {
+      this.buffer.readerIndex(0);
+      this.checksum += new WorldStatePacket(this.buffer).getTime();
+    });
+  }
+
+  @Test
+  public void testDecodeSamples() {
+    WorldStatePacket.write(this.buffer, 6000, false, true, this.samples);
+    assertEquals(20, new WorldStatePacket(this.buffer).getTickRate(), 0.001);
+
+    assertAllocations("Decoding a packet with samples", PACKET_SIZE, () -> {
+      this.buffer.readerIndex(0);
+      this.checksum += new WorldStatePacket(this.buffer).getSampleCount();
+    });
+  }
+}
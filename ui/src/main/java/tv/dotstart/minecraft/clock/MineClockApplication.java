@@ -18,7 +18,6 @@ package tv.dotstart.minecraft.clock;
 
 import com.google.inject.Guice;
 import com.google.inject.Injector;
-import com.google.inject.Singleton;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
@@ -27,8 +26,8 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Optional;
 import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
 import javafx.application.Application;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.TextArea;
@@ -41,8 +40,14 @@ import javafx.stage.StageStyle;
 import javax.annotation.Nonnull;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import tv.dotstart.minecraft.clock.inject.FXMLProvider;
-import tv.dotstart.minecraft.clock.inject.ResourceBundleProvider;
+import tv.dotstart.minecraft.clock.controller.MainWindowController;
+import tv.dotstart.minecraft.clock.controller.MainWindowView;
+import tv.dotstart.minecraft.clock.inject.MineClockModule;
+import tv.dotstart.minecraft.clock.metrics.StartupReport;
+import tv.dotstart.minecraft.clock.service.ConfigurationService;
+import tv.dotstart.minecraft.clock.service.broadcast.WorldStateBroadcastServer;
+import tv.dotstart.minecraft.clock.service.record.WorldStateRecorder;
+import tv.dotstart.minecraft.clock.service.record.WorldStateReplayer;
 import tv.dotstart.minecraft.clock.service.server.WorldStateSynchronizationServer;
 
 /**
@@ -52,22 +57,51 @@ import tv.dotstart.minecraft.clock.service.server.WorldStateSynchronizationServe
  */
 public class MineClockApplication extends Application {
 
+  static {
+    // the optional log file is placed within the storage directory unless specified otherwise
+    // (this has to happen before the first logger is retrieved)
+    if (System.getProperty("mineclock.log.directory") == null) {
+      System.setProperty("mineclock.log.directory",
+          getApplicationDirectory().resolve("logs").toString());
+    }
+  }
+
   private static final Logger logger = LogManager.getFormatterLogger(MineClockApplication.class);
 
   public static final int DEFAULT_WINDOW_WIDTH = 960;
   public static final int DEFAULT_WINDOW_HEIGHT = 540;
+  public static final int PORTRAIT_WINDOW_WIDTH = 400;
+  public static final int MINI_WINDOW_WIDTH = 260;
+  public static final int MINI_WINDOW_HEIGHT = 90;
+
+  /**
+   * Stores the monotonic timestamp at which the application class has been initialized (e.g. the
+   * earliest point in time the application is able to observe).
+   */
+  private static final long LAUNCH_TIMESTAMP = System.nanoTime();
+
+  /**
+   * Defines whether the primary stage is shown before the synchronization server finished binding
+   * its port.
+   */
+  private static final boolean FAST_START = Boolean
+      .parseBoolean(System.getProperty("mineclock.fastStart", "true"));
+
+  private final StartupReport startupReport = new StartupReport(LAUNCH_TIMESTAMP);
   private final Injector injector;
 
   public MineClockApplication() {
-    this.injector = Guice.createInjector((b) -> {
-      b.bind(MineClockApplication.class).toInstance(this);
-      b.bind(FXMLLoader.class).toProvider(FXMLProvider.class);
-      b.bind(ResourceBundle.class).toProvider(ResourceBundleProvider.class).in(Singleton.class);
-    });
+    // the production stage validates the entire graph and instantiates all singletons right away
+    // instead of resolving them one by one while the primary stage is being constructed
+    this.injector = Guice.createInjector(com.google.inject.Stage.PRODUCTION,
+        new MineClockModule(this, this.startupReport));
+    this.startupReport.mark("injector");
   }
 
   /**
-   * Retrieves the path to a systems specific storage directory.
+   * Retrieves the path to a systems specific storage directory (unless overridden via the {@code
+   * mineclock.directory} system property, e.g. when the application is launched by automated
+   * tests).
    *
    * @return a storage directory.
    */
@@ -75,7 +109,10 @@ public class MineClockApplication extends Application {
   public static Path getApplicationDirectory() {
     Path basePath = null;
 
-    if (System.getProperty("os.name").toLowerCase().contains("win")) {
+    String directory = System.getProperty("mineclock.directory");
+    if (directory != null && !directory.isEmpty()) {
+      basePath = Paths.get(directory);
+    } else if (System.getProperty("os.name").toLowerCase().contains("win")) {
       String applicationDataDirectory = System.getenv("APPDATA");
 
       if (applicationDataDirectory != null) {
@@ -164,6 +201,7 @@ public class MineClockApplication extends Application {
     logger.info("Loading application icon");
     primaryStage.getIcons()
         .add(new Image(this.getClass().getResourceAsStream("/image/application.png")));
+    this.startupReport.mark("icon");
 
     logger.info("Initializing main window");
     primaryStage.initStyle(StageStyle.UNDECORATED);
@@ -171,15 +209,32 @@ public class MineClockApplication extends Application {
     primaryStage.setWidth(DEFAULT_WINDOW_WIDTH);
     primaryStage.setHeight(DEFAULT_WINDOW_HEIGHT);
 
-    FXMLLoader loader = this.injector.getInstance(FXMLLoader.class);
-    Scene scene = new Scene(
-        loader.load(this.getClass().getResourceAsStream("/fxml/MainWindow.fxml")));
+    Scene scene = new Scene(MainWindowView.load(
+        this.injector.getInstance(MainWindowController.class),
+        this.injector.getInstance(ResourceBundle.class)));
+    this.startupReport.mark("scene");
 
     logger.info("Marking primary stage visible");
     primaryStage.setScene(scene);
     primaryStage.show();
+    this.startupReport.mark("show");
+
+    long serverTimestamp = System.nanoTime();
+    CompletableFuture<Void> serverStartup = this.injector
+        .getInstance(WorldStateSynchronizationServer.class).postStartup();
+
+    if (FAST_START) {
+      this.startupReport.complete();
+      serverStartup.thenRun(() -> this.startupReport
+          .record("synchronization-server", System.nanoTime() - serverTimestamp));
+    } else {
+      serverStartup.join();
+      this.startupReport.mark("synchronization-server");
+      this.startupReport.complete();
+    }
 
-    this.injector.getInstance(WorldStateSynchronizationServer.class).postStartup();
+    this.injector.getInstance(WorldStateBroadcastServer.class).postStartup();
+    this.injector.getInstance(WorldStateReplayer.class).postStartup();
   }
 
   /**
@@ -189,6 +244,9 @@ public class MineClockApplication extends Application {
   public void stop() {
     logger.info("Shutting down MineClock ...");
     this.injector.getInstance(WorldStateSynchronizationServer.class).stop();
+    this.injector.getInstance(WorldStateBroadcastServer.class).stop();
+    this.injector.getInstance(WorldStateRecorder.class).close();
+    this.injector.getInstance(ConfigurationService.class).flush();
     logger.info("Good Bye :)");
   }
 }
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tv.dotstart.minecraft.clock.control;
+
+import java.net.URL;
+import java.util.ResourceBundle;
+import javafx.fxml.FXML;
+import javafx.fxml.Initializable;
+import javafx.scene.control.Label;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.StackPane;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.transform.Rotate;
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import tv.dotstart.minecraft.clock.MineClockApplication;
+import tv.dotstart.minecraft.clock.cycle.SkyTable;
+import tv.dotstart.minecraft.clock.cycle.TimeLabelTable;
+import tv.dotstart.minecraft.clock.network.WorldClock;
+import tv.dotstart.minecraft.clock.service.BackgroundImageService;
+
+/**
+ * <p>Provides a control which displays the sky and time of a single game instance.</p>
+ *
+ * <p>Tiles are laid out at the size of the landscape main window (and are expected to be scaled
+ * down by their parent) in order to share their background images with all other tiles as well
+ * as the main window. Each tile thus merely occupies the memory of its own scene graph.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class ClockTile extends StackPane implements Initializable {
+
+  private final BackgroundImageService backgroundImageService;
+  private final SkyTable skyTable;
+
+  private final Rotate cycleRotation = new Rotate(-90, 960, 960);
+  private final WorldClock worldClock = new WorldClock();
+  private long lastSynchronizationTimestamp;
+
+  private TimeLabelTable timeLabels;
+  private int displayedTick = -1;
+  private int displayedMinute = -1;
+
+  // <editor-fold desc="FXML Elements">
+  @FXML
+  ImageView cycle;
+  @FXML
+  ImageView backgroundMask;
+  @FXML
+  ImageView backgroundDay;
+  @FXML
+  ImageView backgroundEvening;
+  @FXML
+  ImageView backgroundMorning;
+  @FXML
+  ImageView backgroundNight;
+  @FXML
+  ImageView backgroundRain;
+  @FXML
+  Label time;
+  @FXML
+  Label sourceLabel;
+  // </editor-fold>
+
+  public ClockTile(@Nonnull BackgroundImageService backgroundImageService,
+      @Nonnull SkyTable skyTable) {
+    this.backgroundImageService = backgroundImageService;
+    this.skyTable = skyTable;
+
+    ClockTileView.load(this);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void initialize(URL location, ResourceBundle resources) {
+    this.setClip(new Rectangle(MineClockApplication.DEFAULT_WINDOW_WIDTH,
+        MineClockApplication.DEFAULT_WINDOW_HEIGHT));
+    this.cycle.getTransforms().add(this.cycleRotation);
+
+    this.loadBackground(this.cycle, "cycle", 0, this.cycle.getFitHeight());
+    this.loadBackground(this.backgroundMask, "mask");
+    this.loadBackground(this.backgroundMorning, "morning");
+    this.loadBackground(this.backgroundDay, "day");
+    this.loadBackground(this.backgroundEvening, "evening");
+    this.loadBackground(this.backgroundNight, "night");
+  }
+
+  private void loadBackground(@Nonnull ImageView view, @Nonnull String name) {
+    this.loadBackground(view, name, MineClockApplication.DEFAULT_WINDOW_WIDTH,
+        MineClockApplication.DEFAULT_WINDOW_HEIGHT);
+  }
+
+  private void loadBackground(@Nonnull ImageView view, @Nonnull String name,
+      @Nonnegative double width, @Nonnegative double height) {
+    view.setImage(this.backgroundImageService.acquire(name, width, height));
+  }
+
+  private void unloadBackground(@Nonnull ImageView view) {
+    this.backgroundImageService.release(view.getImage());
+    view.setImage(null);
+  }
+
+  /**
+   * Releases all background images which are held by this tile (the tile may no longer be
+   * displayed afterwards).
+   */
+  public void dispose() {
+    this.unloadBackground(this.cycle);
+    this.unloadBackground(this.backgroundMask);
+    this.unloadBackground(this.backgroundMorning);
+    this.unloadBackground(this.backgroundDay);
+    this.unloadBackground(this.backgroundEvening);
+    this.unloadBackground(this.backgroundNight);
+    this.unloadBackground(this.backgroundRain);
+  }
+
+  /**
+   * Retrieves the monotonic time at which this tile has last been synchronized.
+   */
+  public long getLastSynchronizationTimestamp() {
+    return this.lastSynchronizationTimestamp;
+  }
+
+  /**
+   * Sets the human readable name of the game instance displayed by this tile.
+   */
+  public void setSource(@Nonnull String source) {
+    this.sourceLabel.setText(source);
+  }
+
+  /**
+   * Synchronizes this tile with a world state update.
+   *
+   * @param timestamp the monotonic time at which the update has been received.
+   * @param time a world time (in ticks).
+   * @param paused true if the game is paused, false otherwise.
+   * @param tickRate a reported tick rate or {@link Double#NaN} if unknown.
+   * @param raining true if the rain layer shall be displayed, false otherwise.
+   */
+  public void synchronize(long timestamp, @Nonnegative int time, boolean paused,
+      double tickRate, boolean raining) {
+    this.lastSynchronizationTimestamp = timestamp;
+    if (!paused && !Double.isNaN(tickRate)) {
+      this.worldClock.setTickRate(tickRate);
+    }
+    this.worldClock.synchronize(timestamp, time, paused);
+
+    // the rain layer is only acquired once it is actually displayed for the first time
+    if (raining && this.backgroundRain.getImage() == null) {
+      this.loadBackground(this.backgroundRain, "rain");
+    }
+    this.backgroundRain.setOpacity(raining ? 1 : 0);
+  }
+
+  /**
+   * Updates the displayed sky and time.
+   *
+   * @param now the current monotonic time.
+   * @param timeLabels the table from which time labels are selected.
+   */
+  public void update(long now, @Nonnull TimeLabelTable timeLabels) {
+    int tick = this.worldClock.getTimeOfDay(now);
+
+    if (timeLabels != this.timeLabels) {
+      this.timeLabels = timeLabels;
+      this.displayedMinute = -1;
+    } else if (tick == this.displayedTick) {
+      return;
+    }
+
+    this.displayedTick = tick;
+
+    this.backgroundMorning.setOpacity(this.skyTable.getMorningOpacity(tick));
+    this.backgroundDay.setOpacity(this.skyTable.getDayOpacity(tick));
+    this.backgroundEvening.setOpacity(this.skyTable.getEveningOpacity(tick));
+    this.backgroundNight.setOpacity(this.skyTable.getNightOpacity(tick));
+    this.cycleRotation.setAngle(this.skyTable.getRotation(tick));
+
+    int minute = WorldClock.getMinuteOfDay(tick);
+    if (minute != this.displayedMinute) {
+      this.displayedMinute = minute;
+      this.time.setText(timeLabels.get(minute));
+    }
+  }
+}
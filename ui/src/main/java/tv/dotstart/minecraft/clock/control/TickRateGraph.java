@@ -0,0 +1,156 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tv.dotstart.minecraft.clock.control;
+
+import java.util.concurrent.TimeUnit;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javax.annotation.Nonnull;
+import tv.dotstart.minecraft.clock.metrics.TickRateHistory;
+import tv.dotstart.minecraft.clock.network.WorldClock;
+
+/**
+ * <p>Renders the tick rate and synchronization interval history of the past hour.</p>
+ *
+ * <p>The tick rate is drawn as a line (scaled against the nominal rate) while the synchronization
+ * interval of each sample is drawn as a bar in order to distinguish between a lagging server and
+ * a delayed synchronization.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class TickRateGraph extends Region {
+
+  /**
+   * Defines the period of time which is covered by the graph.
+   */
+  private static final long WINDOW = TimeUnit.HOURS.toNanos(1);
+
+  /**
+   * Defines the interval (in seconds) at which the interval bars reach the top of the graph.
+   */
+  private static final float MAXIMUM_INTERVAL = 30;
+
+  private static final double WIDTH = 360;
+  private static final double HEIGHT = 120;
+  private static final double PADDING = 8;
+
+  private static final Color BACKGROUND_COLOR = Color.rgb(0, 0, 0, 0.6);
+  private static final Color GRID_COLOR = Color.rgb(255, 255, 255, 0.2);
+  private static final Color INTERVAL_COLOR = Color.rgb(255, 196, 0, 0.6);
+  private static final Color TICK_RATE_COLOR = Color.rgb(96, 220, 96);
+  private static final Color TEXT_COLOR = Color.WHITE;
+
+  private final Canvas canvas = new Canvas(WIDTH, HEIGHT);
+
+  public TickRateGraph() {
+    this.getChildren().add(this.canvas);
+    this.getStyleClass().add("tick-rate-graph");
+
+    this.setMouseTransparent(true);
+    this.setMinSize(WIDTH, HEIGHT);
+    this.setPrefSize(WIDTH, HEIGHT);
+    this.setMaxSize(WIDTH, HEIGHT);
+  }
+
+  /**
+   * Redraws the graph based on the passed history.
+   *
+   * @param history a history.
+   * @param now the current monotonic time (in nanoseconds).
+   */
+  public void redraw(@Nonnull TickRateHistory history, long now) {
+    GraphicsContext context = this.canvas.getGraphicsContext2D();
+    double left = PADDING;
+    double top = PADDING + 14;
+    double width = WIDTH - 2 * PADDING;
+    double height = HEIGHT - top - PADDING;
+    double maximumTickRate = WorldClock.TICKS_PER_SECOND * 1.25;
+
+    context.clearRect(0, 0, WIDTH, HEIGHT);
+    context.setFill(BACKGROUND_COLOR);
+    context.fillRect(0, 0, WIDTH, HEIGHT);
+
+    // nominal tick rate
+    double nominal = top + height * (1 - WorldClock.TICKS_PER_SECOND / maximumTickRate);
+    context.setStroke(GRID_COLOR);
+    context.setLineWidth(1);
+    context.strokeLine(left, nominal, left + width, nominal);
+
+    context.setFill(INTERVAL_COLOR);
+    for (int i = 0; i < history.size(); ++i) {
+      long age = now - history.getTimestamp(i);
+      float interval = history.getInterval(i);
+
+      if (age > WINDOW || Float.isNaN(interval)) {
+        continue;
+      }
+
+      double x = left + width * (1 - age / (double) WINDOW);
+      double barHeight = height * Math.min(1, interval / MAXIMUM_INTERVAL);
+      context.fillRect(x - 1, top + height - barHeight, 2, barHeight);
+    }
+
+    context.setStroke(TICK_RATE_COLOR);
+    context.setLineWidth(1.5);
+    context.beginPath();
+
+    boolean connected = false;
+    for (int i = 0; i < history.size(); ++i) {
+      long age = now - history.getTimestamp(i);
+      float tickRate = history.getTickRate(i);
+
+      if (age > WINDOW || Float.isNaN(tickRate)) {
+        connected = false;
+        continue;
+      }
+
+      double x = left + width * (1 - age / (double) WINDOW);
+      double y = top + height * (1 - Math.min(1, tickRate / maximumTickRate));
+
+      if (connected) {
+        context.lineTo(x, y);
+      } else {
+        context.moveTo(x, y);
+        connected = true;
+      }
+    }
+    context.stroke();
+
+    // summary of the most recent sample
+    context.setFill(TEXT_COLOR);
+    context.setFont(Font.font(11));
+
+    if (history.size() == 0) {
+      context.fillText("TPS -    Sync - s", left, PADDING + 10);
+    } else {
+      int latest = history.size() - 1;
+      context.fillText("TPS " + format(history.getTickRate(latest)) + "    Sync "
+          + format(history.getInterval(latest)) + " s", left, PADDING + 10);
+    }
+  }
+
+  /**
+   * Formats a sample value for display.
+   */
+  @Nonnull
+  private static String format(float value) {
+    return Float.isNaN(value) ? "-" : String.format("%.1f", value);
+  }
+}
@@ -16,7 +16,6 @@
  */
 package tv.dotstart.minecraft.clock.control;
 
-import java.io.IOException;
 import java.net.URL;
 import java.util.ResourceBundle;
 import javafx.application.Platform;
@@ -30,7 +29,6 @@ import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.fxml.Initializable;
 import javafx.scene.Node;
 import javafx.scene.control.Button;
@@ -56,30 +54,22 @@ public class TitleBar extends HBox implements Initializable {
   private final BooleanProperty minimizable = new SimpleBooleanProperty(true);
   private final StringProperty title = new SimpleStringProperty("Test");
   @FXML
-  private HBox buttons = new HBox();
+  HBox buttons = new HBox();
   @FXML
-  private Button closeButton = new Button("\uf00d");
+  Button closeButton = new Button("\uf00d");
   // </editor-fold>
   @FXML
-  private Button iconifyButton = new Button("\uf070");
+  Button iconifyButton = new Button("\uf070");
   // <editor-fold desc="Window Dragging">
   private double initialX;
   private double initialY;
   // <editor-fold desc="FXML Elements">
   @FXML
-  private Label titleLabel = new Label();
+  Label titleLabel = new Label();
   // </editor-fold>
 
   public TitleBar() {
-    FXMLLoader loader = new FXMLLoader(this.getClass().getResource("/fxml/control/TitleBar.fxml"));
-    loader.setRoot(this);
-    loader.setController(this);
-
-    try {
-      loader.load();
-    } catch (IOException ex) {
-      throw new RuntimeException("Could not load TitleBar: " + ex.getMessage(), ex);
-    }
+    TitleBarView.load(this);
   }
 
   @Nonnull
@@ -119,7 +109,7 @@ public class TitleBar extends HBox implements Initializable {
     this.closeButton.visibleProperty().bind(this.closeableProperty());
     this.closeButton.managedProperty().bind(this.closeButton.visibleProperty());
 
-    // Note: This is a dirty fix which works around FXMLLoader assuming that we mean to include
+    // Note: This is a dirty fix which works around FXML assuming that we mean to include
     // contents declared in TitleBar.fxml as part of our additional buttons
     this.getChildren().addAll(this.additionalButtons);
     this.additionalButtons.clear();
@@ -157,7 +147,7 @@ public class TitleBar extends HBox implements Initializable {
   }
 
   @FXML
-  private void onClose(@Nonnull ActionEvent event) {
+  void onClose(@Nonnull ActionEvent event) {
     if (this.closesApplicationProperty().get()) {
       Platform.exit();
     } else {
@@ -168,12 +158,12 @@ public class TitleBar extends HBox implements Initializable {
 
   // <editor-fold desc="Event Handlers">
   @FXML
-  private void onIconify(@Nonnull ActionEvent event) {
+  void onIconify(@Nonnull ActionEvent event) {
     ((Stage) this.getScene().getWindow()).setIconified(true);
   }
 
   @FXML
-  private void onMouseDragged(@Nonnull MouseEvent event) {
+  void onMouseDragged(@Nonnull MouseEvent event) {
     if (event.getButton() != MouseButton.MIDDLE) {
       this.getScene().getWindow().setX(event.getScreenX() - initialX);
       this.getScene().getWindow().setY(event.getScreenY() - initialY);
@@ -181,7 +171,7 @@ public class TitleBar extends HBox implements Initializable {
   }
 
   @FXML
-  private void onMousePressed(@Nonnull MouseEvent event) {
+  void onMousePressed(@Nonnull MouseEvent event) {
     if (event.getButton() != MouseButton.MIDDLE) {
       initialX = event.getSceneX();
       initialY = event.getSceneY();
@@ -0,0 +1,244 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tv.dotstart.minecraft.clock.controller;
+
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.ResourceBundle;
+import javafx.animation.AnimationTimer;
+import javafx.beans.binding.Bindings;
+import javafx.fxml.FXML;
+import javafx.fxml.Initializable;
+import javafx.scene.Group;
+import javafx.scene.control.Label;
+import javafx.scene.layout.FlowPane;
+import javafx.scene.layout.VBox;
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import tv.dotstart.minecraft.clock.MineClockApplication;
+import tv.dotstart.minecraft.clock.control.ClockTile;
+import tv.dotstart.minecraft.clock.cycle.SkyTable;
+import tv.dotstart.minecraft.clock.cycle.TimeLabelTable;
+import tv.dotstart.minecraft.clock.service.BackgroundImageService;
+import tv.dotstart.minecraft.clock.service.ConfigurationService;
+import tv.dotstart.minecraft.clock.service.event.WorldStateEvent;
+import tv.dotstart.minecraft.clock.service.event.WorldStateEventBus;
+import tv.dotstart.minecraft.clock.service.event.WorldStateSources;
+
+/**
+ * <p>Provides a handler for all functionality declared by {@code DashboardWindow.fxml}.</p>
+ *
+ * <p>The dashboard displays a separate clock for every game instance which reports its world
+ * state. Clocks are added when the first update of a game instance is received and removed once
+ * the game instance has not reported any updates within the expiration window of its source (see
+ * {@link WorldStateSources#EXPIRATION_DURATION}). All clocks share their background images with
+ * each other (as well as with the main window) and release them when the dashboard is closed.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class DashboardWindowController implements Initializable {
+
+  private static final Logger logger = LogManager.getLogger(DashboardWindowController.class);
+
+  /**
+   * Defines the factor by which clocks are scaled relative to the landscape main window.
+   */
+  private static final double CLOCK_SCALE = 1 / 3.0;
+
+  /**
+   * Defines the amount of clocks which are displayed side by side.
+   */
+  private static final int COLUMNS = 3;
+
+  /**
+   * Defines the spacing between clocks as well as the window border (in pixels).
+   */
+  private static final double SPACING = 10;
+
+  /**
+   * Defines the (approximate) height of the title bar (in pixels).
+   */
+  private static final double TITLE_BAR_HEIGHT = 34;
+
+  private final BackgroundImageService backgroundImageService;
+  private final ConfigurationService configurationService;
+  private final SkyTable skyTable;
+  private final WorldStateEventBus.Subscription worldStateSubscription;
+  private final WorldStateSources worldStateSources;
+  private final WorldStateEvent worldStateEvent = new WorldStateEvent();
+
+  private final Map<Integer, ClockTile> tiles = new HashMap<>();
+  private TimeLabelTable timeLabels;
+
+  private final AnimationTimer timer = new AnimationTimer() {
+    @Override
+    public void handle(long now) {
+      DashboardWindowController.this.update(now);
+    }
+  };
+
+  // <editor-fold desc="FXML Elements">
+  @FXML
+  VBox root;
+  @FXML
+  Label placeholder;
+  @FXML
+  FlowPane clocks;
+  // </editor-fold>
+
+  @Inject
+  public DashboardWindowController(@Nonnull BackgroundImageService backgroundImageService,
+      @Nonnull ConfigurationService configurationService, @Nonnull SkyTable skyTable,
+      @Nonnull WorldStateEventBus eventBus, @Nonnull WorldStateSources worldStateSources) {
+    this.backgroundImageService = backgroundImageService;
+    this.configurationService = configurationService;
+    this.skyTable = skyTable;
+    this.worldStateSubscription = eventBus.subscribe();
+    this.worldStateSources = worldStateSources;
+
+    this.timeLabels = new TimeLabelTable(this.configurationService.isDisplay24HourTime());
+    this.configurationService.display24HourTimeProperty()
+        .addListener((ob, o, n) -> this.timeLabels = new TimeLabelTable(n));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void initialize(URL location, ResourceBundle resources) {
+    this.clocks.setPrefWrapLength(
+        COLUMNS * MineClockApplication.DEFAULT_WINDOW_WIDTH * CLOCK_SCALE
+            + (COLUMNS - 1) * SPACING);
+    this.placeholder.visibleProperty().bind(Bindings.isEmpty(this.clocks.getChildren()));
+  }
+
+  /**
+   * Retrieves the width of the dashboard window (in pixels).
+   */
+  public double getWidth() {
+    return COLUMNS * MineClockApplication.DEFAULT_WINDOW_WIDTH * CLOCK_SCALE
+        + (COLUMNS + 1) * SPACING;
+  }
+
+  /**
+   * Retrieves the height of the dashboard window (in pixels) based on the amount of clocks which
+   * are currently displayed.
+   */
+  public double getHeight() {
+    int rows = Math.max(1, (this.tiles.size() + COLUMNS - 1) / COLUMNS);
+
+    return TITLE_BAR_HEIGHT
+        + rows * MineClockApplication.DEFAULT_WINDOW_HEIGHT * CLOCK_SCALE
+        + (rows + 1) * SPACING;
+  }
+
+  /**
+   * Starts displaying clocks (typically when the dashboard window is shown).
+   */
+  public void start() {
+    this.timer.start();
+  }
+
+  /**
+   * Stops displaying clocks and releases all of their resources (typically when the dashboard
+   * window is hidden).
+   */
+  public void stop() {
+    this.timer.stop();
+
+    this.tiles.values().forEach(ClockTile::dispose);
+    this.tiles.clear();
+    this.clocks.getChildren().clear();
+  }
+
+  /**
+   * Applies all pending world state updates and updates the displayed clocks.
+   */
+  private void update(long now) {
+    boolean changed = false;
+
+    while (this.worldStateSubscription.poll(this.worldStateEvent)) {
+      WorldStateEvent event = this.worldStateEvent;
+
+      // updates which have been published while the dashboard was hidden are only considered
+      // when they would not have expired yet
+      if (now - event.getTimestamp() > WorldStateSources.EXPIRATION_DURATION) {
+        continue;
+      }
+
+      ClockTile tile = this.tiles.get(event.getSource());
+      if (tile == null) {
+        tile = this.createTile(event.getSource());
+        changed = true;
+      }
+
+      tile.synchronize(event.getTimestamp(), event.getTime(), event.isPaused(),
+          event.getTickRate(), event.isRaining() && this.configurationService.isDisplayWeather());
+    }
+
+    Iterator<ClockTile> iterator = this.tiles.values().iterator();
+    while (iterator.hasNext()) {
+      ClockTile tile = iterator.next();
+
+      // clocks expire along with their source in order to not display a game instance twice
+      // when it is assigned a new identifier
+      if (now - tile.getLastSynchronizationTimestamp() > WorldStateSources.EXPIRATION_DURATION) {
+        logger.info("Removing expired clock");
+
+        iterator.remove();
+        this.clocks.getChildren().remove(tile.getParent());
+        tile.dispose();
+        changed = true;
+        continue;
+      }
+
+      tile.update(now, this.timeLabels);
+    }
+
+    if (changed) {
+      this.root.getScene().getWindow().setHeight(this.getHeight());
+    }
+  }
+
+  /**
+   * Creates a new clock for a previously unknown game instance.
+   */
+  @Nonnull
+  private ClockTile createTile(int source) {
+    InetSocketAddress address = this.worldStateSources.getAddress(source);
+    logger.info("Adding clock for game instance {}", address);
+
+    ClockTile tile = new ClockTile(this.backgroundImageService, this.skyTable);
+    if (address != null) {
+      tile.setSource(address.getHostString() + ":" + address.getPort());
+    }
+
+    // tiles are scaled down within a group in order for their scaled bounds to be considered
+    // during layout
+    tile.setScaleX(CLOCK_SCALE);
+    tile.setScaleY(CLOCK_SCALE);
+
+    this.tiles.put(source, tile);
+    this.clocks.getChildren().add(new Group(tile));
+    return tile;
+  }
+}
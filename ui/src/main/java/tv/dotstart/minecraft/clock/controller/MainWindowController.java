@@ -17,24 +17,17 @@
 package tv.dotstart.minecraft.clock.controller;
 
 import com.google.inject.Injector;
-import java.io.IOException;
 import java.net.URL;
-import java.time.Instant;
 import java.util.ResourceBundle;
-import java.util.Timer;
-import java.util.TimerTask;
-import javafx.animation.Animation;
+import javafx.animation.AnimationTimer;
 import javafx.animation.FadeTransition;
-import javafx.animation.KeyFrame;
-import javafx.animation.KeyValue;
-import javafx.animation.Timeline;
+import javafx.animation.PauseTransition;
 import javafx.application.Platform;
 import javafx.beans.binding.BooleanBinding;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.fxml.Initializable;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
@@ -53,7 +46,21 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.util.Unbox;
+import tv.dotstart.minecraft.clock.MineClockApplication;
+import tv.dotstart.minecraft.clock.control.TickRateGraph;
+import tv.dotstart.minecraft.clock.cycle.SkyTable;
+import tv.dotstart.minecraft.clock.cycle.TimeLabelTable;
+import tv.dotstart.minecraft.clock.metrics.FrameStatistics;
+import tv.dotstart.minecraft.clock.metrics.TickRateHistory;
+import tv.dotstart.minecraft.clock.network.WorldClock;
+import tv.dotstart.minecraft.clock.network.diagnostics.Diagnostics;
+import tv.dotstart.minecraft.clock.service.BackgroundImageService;
 import tv.dotstart.minecraft.clock.service.ConfigurationService;
+import tv.dotstart.minecraft.clock.service.WorldStateStore;
+import tv.dotstart.minecraft.clock.service.event.WorldStateEvent;
+import tv.dotstart.minecraft.clock.service.event.WorldStateEventBus;
+import tv.dotstart.minecraft.clock.service.event.WorldStateSources;
 
 /**
  * Provides a main application controller which handles the functionality declared in {@code
@@ -64,20 +71,47 @@ import tv.dotstart.minecraft.clock.service.ConfigurationService;
 @Singleton
 public class MainWindowController implements Initializable {
 
-  private static final Logger logger = LogManager.getFormatterLogger(MainWindowController.class);
+  private static final Logger logger = LogManager.getLogger(MainWindowController.class);
 
   /**
-   * Defines the total amount of time a single day/night cycle takes (assuming that the server is
-   * not lagging at the moment).
+   * Defines the total amount of time that has to pass between now and the last synchronization
+   * packet before the application no longer considers itself to be application controlled (unless
+   * the heartbeat interval of the sender has been observed).
    */
-  private static final Duration CYCLE_TIME = Duration.minutes(20);
+  private static final Duration SYNCHRONIZATION_EXPIRATION_DURATION = Duration.minutes(1);
 
   /**
-   * Defines the total amount of time that has to pass between now and the last synchronization
-   * packet before the application no longer considers itself to be application controlled.
+   * Defines the lower bound for the synchronization expiration window when it is derived from the
+   * observed heartbeat interval.
+   */
+  private static final Duration MINIMUM_SYNCHRONIZATION_EXPIRATION_DURATION = Duration.seconds(5);
+
+  /**
+   * Defines the amount of consecutive heartbeats which may be missed before a synchronization is
+   * considered expired.
+   */
+  private static final int SYNCHRONIZATION_EXPIRATION_HEARTBEATS = 4;
+
+  /**
+   * Defines the weight of a newly observed heartbeat interval within the running estimate.
    */
-  private static final java.time.Duration SYNCHRONIZATION_EXPIRATION_DURATION = java.time.Duration
-      .ofMinutes(1);
+  private static final double HEARTBEAT_SMOOTHING_FACTOR = 0.25;
+
+  /**
+   * Defines the maximum amount of world state samples retained for the statistics overlay (enough
+   * to cover an hour of samples at a rate of one per second).
+   */
+  private static final int TICK_RATE_HISTORY_CAPACITY = 4096;
+
+  /**
+   * Defines the interval at which the statistics overlay is redrawn while no new samples arrive.
+   */
+  private static final long TICK_RATE_GRAPH_REFRESH_INTERVAL = 1_000_000_000L;
+
+  /**
+   * Indicates that no game instance is currently followed.
+   */
+  private static final int NO_SOURCE = -1;
 
   /**
    * Defines the total amount of time the application uses to animate the transition between
@@ -92,81 +126,101 @@ public class MainWindowController implements Initializable {
 
   private final Injector injector;
   private final ConfigurationService configurationService;
+  private final SkyTable skyTable;
+  private final BackgroundImageService backgroundImageService;
+  private final WorldStateStore worldStateStore;
+  private final WorldStateEventBus.Subscription worldStateSubscription;
+  private final WorldStateEvent worldStateEvent = new WorldStateEvent();
+  private final WorldStateEvent followedWorldStateEvent = new WorldStateEvent();
+  private int followedSource = NO_SOURCE;
+  private long followedTimestamp;
+  private final TickRateHistory tickRateHistory = new TickRateHistory(
+      TICK_RATE_HISTORY_CAPACITY);
+  private long tickRateGraphTimestamp;
+  private final FrameStatistics frameStatistics =
+      FrameStatistics.isEnabled() ? new FrameStatistics() : null;
 
   private final Rotate cycleRotation = new Rotate(-90, 960, 960);
-  private final Timeline cycleTimeline = new Timeline();
+  private final WorldClock worldClock = new WorldClock();
 
   private final BooleanProperty raining = new SimpleBooleanProperty();
   private BooleanBinding rainBinding;
   private FadeTransition rainTransition;
 
-  private final Timer synchronizationTimer = new Timer(true);
-  private Instant lastSynchronizationTimestamp = Instant.EPOCH;
+  private double layoutWidth;
+  private double layoutHeight;
+
+  private boolean miniMode;
+  private MiniWindowController miniWindowController;
+  private Scene miniScene;
+
+  private Stage settingsStage;
+  private Stage dashboardStage;
+
+  private TimeLabelTable timeLabels;
+  private int displayedTick = -1;
+  private int displayedMinute = -1;
+
+  private final PauseTransition synchronizationExpiration = new PauseTransition(
+      SYNCHRONIZATION_EXPIRATION_DURATION);
+  private long lastSynchronizationTimestamp;
+  private double heartbeatInterval = Double.NaN;
 
   // <editor-fold desc="FXML Elements">
   @FXML
-  private StackPane root;
+  StackPane root;
   @FXML
-  private Label time;
+  Label time;
 
   @FXML
-  private Label synchronizationLabel;
+  Label synchronizationLabel;
+  @FXML
+  ImageView backgroundMask;
   @FXML
-  private ImageView backgroundDay;
+  ImageView backgroundDay;
   @FXML
-  private ImageView backgroundEvening;
+  ImageView backgroundEvening;
   @FXML
-  private ImageView backgroundMorning;
+  ImageView backgroundMorning;
   @FXML
-  private ImageView backgroundNight;
+  ImageView backgroundNight;
   @FXML
-  private ImageView backgroundRain;
+  ImageView backgroundRain;
   @FXML
-  private HBox controls;
+  HBox controls;
   @FXML
-  private ImageView cycle;
+  ImageView cycle;
   @FXML
-  private Button landscapeButton;
+  Button landscapeButton;
   @FXML
-  private Button portraitButton;
+  Button portraitButton;
+  @FXML
+  TickRateGraph tickRateGraph;
   // </editor-fold>
 
   @Inject
   public MainWindowController(@Nonnull Injector injector,
-      @Nonnull ConfigurationService configurationService) {
+      @Nonnull ConfigurationService configurationService, @Nonnull SkyTable skyTable,
+      @Nonnull BackgroundImageService backgroundImageService,
+      @Nonnull WorldStateStore worldStateStore, @Nonnull WorldStateEventBus eventBus) {
     this.injector = injector;
     this.configurationService = configurationService;
-
-    this.cycleTimeline.setCycleCount(Animation.INDEFINITE);
-    this.cycleTimeline.getKeyFrames()
-        .add(new KeyFrame(CYCLE_TIME, new KeyValue(this.cycleRotation.angleProperty(), 270)));
-
-    this.cycleTimeline.currentTimeProperty().addListener((observable, oldValue, newValue) -> {
-      int totalSeconds = (int) (24000 * (newValue.toSeconds() / CYCLE_TIME.toSeconds()));
-
-      int hours = 6 + (totalSeconds / 1000);
-      int minutes = (totalSeconds % 1000) / 17;
-      boolean pm = false;
-
-      if (hours >= 24) {
-        hours %= 24;
-      }
-
-      if (!this.configurationService.isDisplay24HourTime()) {
-        if (hours > 12) {
-          hours %= 12;
-          pm = true;
-        } else if (hours == 12 && minutes > 0) {
-          pm = true;
-        }
-
-        this.time.setText(String.format("%02d:%02d %s", hours, minutes, (pm ? "PM" : "AM")));
-      } else {
-        this.time.setText(String.format("%02d:%02d", hours, minutes));
+    this.skyTable = skyTable;
+    this.backgroundImageService = backgroundImageService;
+    this.worldStateStore = worldStateStore;
+    this.worldStateSubscription = eventBus.subscribe();
+
+    this.timeLabels = new TimeLabelTable(this.configurationService.isDisplay24HourTime());
+    this.configurationService.display24HourTimeProperty().addListener((ob, o, n) -> {
+      this.timeLabels = new TimeLabelTable(n);
+      this.displayedMinute = -1;
+
+      if (this.displayedTick != -1) {
+        this.updateTimeLabel(this.displayedTick);
       }
     });
 
-    this.synchronizationTimer.schedule(new SynchronizationTask(), 1000, 2000);
+    this.synchronizationExpiration.setOnFinished((e) -> this.expireSynchronization());
   }
 
   /**
@@ -190,58 +244,59 @@ public class MainWindowController implements Initializable {
       }
     });
 
-    // Morning
-    this.cycleTimeline.getKeyFrames().add(
-        new KeyFrame(Duration.ZERO, new KeyValue(this.backgroundMorning.opacityProperty(), 1)));
-    this.cycleTimeline.getKeyFrames().add(new KeyFrame(CYCLE_TIME.multiply(0.125),
-        new KeyValue(this.backgroundMorning.opacityProperty(), 0)));
-    this.cycleTimeline.getKeyFrames().add(new KeyFrame(CYCLE_TIME.multiply(0.875),
-        new KeyValue(this.backgroundMorning.opacityProperty(), 0)));
-    this.cycleTimeline.getKeyFrames().add(new KeyFrame(CYCLE_TIME.multiply(1),
-        new KeyValue(this.backgroundMorning.opacityProperty(), 1)));
-
-    // Full Day
-    this.cycleTimeline.getKeyFrames()
-        .add(new KeyFrame(Duration.ZERO, new KeyValue(this.backgroundDay.opacityProperty(), 0)));
-    this.cycleTimeline.getKeyFrames().add(new KeyFrame(CYCLE_TIME.multiply(0.125),
-        new KeyValue(this.backgroundDay.opacityProperty(), 1)));
-    this.cycleTimeline.getKeyFrames().add(new KeyFrame(CYCLE_TIME.multiply(0.375),
-        new KeyValue(this.backgroundDay.opacityProperty(), 1)));
-    this.cycleTimeline.getKeyFrames().add(new KeyFrame(CYCLE_TIME.multiply(0.625),
-        new KeyValue(this.backgroundDay.opacityProperty(), 0)));
-
-    // Evening
-    this.cycleTimeline.getKeyFrames().add(new KeyFrame(CYCLE_TIME.multiply(0.375),
-        new KeyValue(this.backgroundEvening.opacityProperty(), 0)));
-    this.cycleTimeline.getKeyFrames().add(new KeyFrame(CYCLE_TIME.multiply(0.5),
-        new KeyValue(this.backgroundEvening.opacityProperty(), 1)));
-    this.cycleTimeline.getKeyFrames().add(new KeyFrame(CYCLE_TIME.multiply(0.625),
-        new KeyValue(this.backgroundEvening.opacityProperty(), 0)));
-
-    // Night
-    this.cycleTimeline.getKeyFrames().add(new KeyFrame(CYCLE_TIME.multiply(0.5),
-        new KeyValue(this.backgroundNight.opacityProperty(), 0)));
-    this.cycleTimeline.getKeyFrames().add(new KeyFrame(CYCLE_TIME.multiply(0.625),
-        new KeyValue(this.backgroundNight.opacityProperty(), 1)));
-    this.cycleTimeline.getKeyFrames().add(new KeyFrame(CYCLE_TIME.multiply(0.875),
-        new KeyValue(this.backgroundNight.opacityProperty(), 1)));
-    this.cycleTimeline.getKeyFrames()
-        .add(new KeyFrame(CYCLE_TIME, new KeyValue(this.backgroundNight.opacityProperty(), 0)));
+    // decode backgrounds for the initial layout (unless the application is launched in mini mode
+    // in which case they are only decoded once the full window is restored)
+    if (this.configurationService.isMiniMode()) {
+      this.layoutWidth = this.configurationService.isLaunchPortraitMode()
+          ? MineClockApplication.PORTRAIT_WINDOW_WIDTH : MineClockApplication.DEFAULT_WINDOW_WIDTH;
+      this.layoutHeight = MineClockApplication.DEFAULT_WINDOW_HEIGHT;
+    } else if (this.configurationService.isLaunchPortraitMode()) {
+      this.loadBackgrounds(MineClockApplication.PORTRAIT_WINDOW_WIDTH,
+          MineClockApplication.DEFAULT_WINDOW_HEIGHT);
+    } else {
+      this.loadBackgrounds(MineClockApplication.DEFAULT_WINDOW_WIDTH,
+          MineClockApplication.DEFAULT_WINDOW_HEIGHT);
+    }
 
     // apply transformation
     this.cycle.getTransforms().add(this.cycleRotation);
-    this.cycleTimeline.play();
+    this.updateCycle(this.worldClock.getTimeOfDay());
 
     // rain transition
     this.rainTransition = new FadeTransition(TRANSITION_DURATION, this.backgroundRain);
     this.rainBinding = this.configurationService.displayWeatherProperty().and(this.raining);
     this.rainBinding.addListener((observable, oldValue, newValue) -> {
+      // the rain layer is only decoded once it is actually displayed for the first time
+      if (newValue && !this.miniMode && this.backgroundRain.getImage() == null) {
+        this.loadBackground(this.backgroundRain, "rain", this.layoutWidth, this.layoutHeight);
+      }
+
       this.rainTransition.setFromValue(newValue ? 0 : 1);
       this.rainTransition.setToValue(newValue ? 1 : 0);
 
       this.rainTransition.play();
     });
 
+    this.restoreWorldState();
+
+    // world state updates are polled once per pulse (only the most recent update is applied when
+    // multiple updates arrive within the same frame) before the clock is sampled
+    new AnimationTimer() {
+      @Override
+      public void handle(long now) {
+        MainWindowController.this.pulse(now);
+      }
+    }.start();
+
+    // the settings window is constructed once the main window has been shown and is reused
+    // whenever it is opened
+    Platform.runLater(this::prepareSettingsWindow);
+
+    // Switch to mini mode if it was active when the application was last closed
+    if (this.configurationService.isMiniMode()) {
+      Platform.runLater(() -> this.setMiniMode(true));
+    }
+
     // Switch to Portrait if requested
     if (this.configurationService.isLaunchPortraitMode()) {
       Platform.runLater(() -> {
@@ -251,11 +306,271 @@ public class MainWindowController implements Initializable {
     }
   }
 
+  /**
+   * Decodes all background layers at the size required to cover a window of the specified
+   * dimensions (layers which have previously been decoded at the same size are reused).
+   */
+  private void loadBackgrounds(@Nonnegative double width, @Nonnegative double height) {
+    this.layoutWidth = width;
+    this.layoutHeight = height;
+
+    this.loadBackground(this.cycle, "cycle", 0, this.cycle.getFitHeight());
+    this.loadBackground(this.backgroundMask, "mask", width, height);
+    this.loadBackground(this.backgroundMorning, "morning", width, height);
+    this.loadBackground(this.backgroundDay, "day", width, height);
+    this.loadBackground(this.backgroundEvening, "evening", width, height);
+    this.loadBackground(this.backgroundNight, "night", width, height);
+
+    if (this.backgroundRain.getImage() != null) {
+      this.loadBackground(this.backgroundRain, "rain", width, height);
+    }
+  }
+
+  /**
+   * Replaces the image of a background layer with the specified image (the previously displayed
+   * image is released).
+   */
+  private void loadBackground(@Nonnull ImageView view, @Nonnull String name,
+      @Nonnegative double width, @Nonnegative double height) {
+    view.setImage(this.backgroundImageService.replace(view.getImage(), name, width, height));
+  }
+
+  /**
+   * Releases the image of a background layer.
+   */
+  private void unloadBackground(@Nonnull ImageView view) {
+    this.backgroundImageService.release(view.getImage());
+    view.setImage(null);
+  }
+
+  /**
+   * Resizes the window and decodes all background layers for the specified layout (while in mini
+   * mode, the layout is merely remembered until the full size window is restored).
+   */
+  private void applyLayout(@Nonnegative double width, @Nonnegative double height) {
+    if (this.miniMode) {
+      this.layoutWidth = width;
+      this.layoutHeight = height;
+      return;
+    }
+
+    this.root.getScene().getWindow().setWidth(width);
+    this.loadBackgrounds(width, height);
+  }
+
+  /**
+   * Applies pending world state updates and advances the displayed cycle to the specified frame
+   * timestamp (invoked once per pulse).
+   *
+   * @param now the frame timestamp in nanoseconds.
+   */
+  void pulse(long now) {
+    long start = System.nanoTime();
+
+    boolean received = this.pollWorldState();
+    int timeOfDay = this.worldClock.getTimeOfDay(now);
+    this.updateCycle(timeOfDay);
+    this.updateTickRateGraph(now, received);
+
+    if (this.frameStatistics != null) {
+      this.frameStatistics.record(now, System.nanoTime() - start, timeOfDay,
+          this.getLayoutName());
+    }
+  }
+
+  /**
+   * Updates the displayed sky and time to reflect the supplied time of day.
+   */
+  private void updateCycle(@Nonnegative int tick) {
+    if (tick == this.displayedTick) {
+      return;
+    }
+
+    this.displayedTick = tick;
+
+    if (this.miniMode) {
+      this.miniWindowController.setNight(this.skyTable.getNightOpacity(tick) >= 0.5);
+      this.updateTimeLabel(tick);
+      return;
+    }
+
+    this.backgroundMorning.setOpacity(this.skyTable.getMorningOpacity(tick));
+    this.backgroundDay.setOpacity(this.skyTable.getDayOpacity(tick));
+    this.backgroundEvening.setOpacity(this.skyTable.getEveningOpacity(tick));
+    this.backgroundNight.setOpacity(this.skyTable.getNightOpacity(tick));
+    this.cycleRotation.setAngle(this.skyTable.getRotation(tick));
+
+    this.updateTimeLabel(tick);
+  }
+
+  /**
+   * Updates the displayed time label to reflect the supplied world time (the label is only touched
+   * when the in-game minute actually changes).
+   */
+  private void updateTimeLabel(@Nonnegative int tick) {
+    int minute = WorldClock.getMinuteOfDay(tick);
+
+    if (minute == this.displayedMinute) {
+      return;
+    }
+
+    this.displayedMinute = minute;
+    this.time.setText(this.timeLabels.get(minute));
+  }
+
+  /**
+   * <p>Records all world state updates which have been published by the followed game instance
+   * since the last invocation and applies the most recent one.</p>
+   *
+   * <p>The main window follows the first game instance which reports an update and ignores all
+   * other game instances (which remain visible on the dashboard) until the followed instance has
+   * either expired (see {@link WorldStateSources#EXPIRATION_DURATION}) or its synchronization has
+   * expired.</p>
+   *
+   * @return true if at least one update has been received, false otherwise.
+   */
+  private boolean pollWorldState() {
+    boolean received = false;
+
+    while (this.worldStateSubscription.poll(this.worldStateEvent)) {
+      WorldStateEvent event = this.worldStateEvent;
+
+      if (event.getSource() != this.followedSource) {
+        if (this.followedSource != NO_SOURCE && event.getTimestamp() - this.followedTimestamp
+            <= WorldStateSources.EXPIRATION_DURATION) {
+          continue;
+        }
+
+        logger.info("Following game instance #{}", Unbox.box(event.getSource()));
+        this.followedSource = event.getSource();
+      }
+
+      this.followedTimestamp = event.getTimestamp();
+      this.tickRateHistory.record(event.getTimestamp(), event.getTime(), event.isPaused());
+      this.followedWorldStateEvent.copyFrom(event);
+      received = true;
+    }
+
+    if (received) {
+      this.applyWorldState(this.followedWorldStateEvent);
+    }
+
+    return received;
+  }
+
+  /**
+   * Redraws the statistics overlay (if visible) whenever new samples have been received or the
+   * graph has not been redrawn within its refresh interval.
+   */
+  private void updateTickRateGraph(long now, boolean received) {
+    if (!this.tickRateGraph.isVisible()) {
+      return;
+    }
+
+    if (!received && now - this.tickRateGraphTimestamp < TICK_RATE_GRAPH_REFRESH_INTERVAL) {
+      return;
+    }
+
+    this.tickRateGraphTimestamp = now;
+    this.tickRateGraph.redraw(this.tickRateHistory, now);
+  }
+
+  /**
+   * Retrieves a human readable name for the window layout which is currently active.
+   */
+  @Nonnull
+  private String getLayoutName() {
+    if (this.miniMode) {
+      return "mini";
+    }
+
+    return this.root.getStyleClass().contains("portrait") ? "portrait" : "landscape";
+  }
+
+  /**
+   * Completes the current frame statistics period (if enabled) before the window layout is
+   * changed in order to keep the statistics of both layouts apart.
+   */
+  private void completeFrameStatistics() {
+    if (this.frameStatistics != null) {
+      this.frameStatistics.complete("partial day", this.getLayoutName());
+    }
+  }
+
+  /**
+   * Applies a world state update which has been received from a synchronization client.
+   */
+  private void applyWorldState(@Nonnull WorldStateEvent event) {
+    Object diagnosticHandle = Diagnostics.beginWorldStateApply();
+
+    logger.info("Updating state: World is at {} ticks (rain: {})", Unbox.box(event.getTime()),
+        event.isRaining() ? "on" : "off");
+
+    // the game reports a tick rate of zero while paused and thus the last known rate is retained
+    if (!event.isPaused() && !Double.isNaN(event.getTickRate())) {
+      this.worldClock.setTickRate(event.getTickRate());
+    }
+
+    Diagnostics.clockJump(this.worldClock.getTimeOfDay(event.getTimestamp()), event.getTime());
+    this.worldClock.synchronize(event.getTimestamp(), event.getTime(), event.isPaused());
+    this.setRaining(event.isRaining());
+    this.refreshSynchronization(event.getTimestamp());
+
+    this.worldStateStore.save(event.getTime(), this.worldClock.getTickRate(), event.isPaused(),
+        event.isRaining());
+
+    Diagnostics.commitWorldStateApply(diagnosticHandle, event.getTime(),
+        System.nanoTime() - event.getTimestamp());
+  }
+
+  /**
+   * Restores the world state which has been persisted by a previous instance of the application
+   * (if it would not have expired yet) in order to display the correct time before the next
+   * synchronization packet arrives.
+   */
+  private void restoreWorldState() {
+    this.worldStateStore.load()
+        .filter((s) -> s.getAge() >= 0
+            && s.getAge() < SYNCHRONIZATION_EXPIRATION_DURATION.toMillis())
+        .ifPresent((snapshot) -> {
+          logger.info("Restoring world state which has been received {} ms ago",
+              Unbox.box(snapshot.getAge()));
+
+          long now = System.nanoTime();
+          this.worldClock.setTickRate(snapshot.getTickRate());
+          this.worldClock
+              .synchronize(now, snapshot.getExtrapolatedTicks(), snapshot.isPaused());
+          this.setRaining(snapshot.isRaining());
+          this.refreshSynchronization(now);
+
+          // the restored state does not count as a heartbeat and expires as if it had been
+          // received by this instance
+          this.lastSynchronizationTimestamp = 0;
+          this.synchronizationExpiration.jumpTo(Duration.millis(snapshot.getAge()));
+        });
+  }
+
   /**
    * Refreshes the current synchronization state.
+   *
+   * @param now the monotonic time at which the most recent synchronization packet has been
+   * received.
    */
-  public void refreshSynchronization() {
-    this.lastSynchronizationTimestamp = Instant.now();
+  private void refreshSynchronization(long now) {
+    if (this.lastSynchronizationTimestamp != 0) {
+      double interval = (now - this.lastSynchronizationTimestamp) / 1_000_000.0;
+
+      if (Double.isNaN(this.heartbeatInterval)) {
+        this.heartbeatInterval = interval;
+      } else {
+        this.heartbeatInterval += (interval - this.heartbeatInterval) * HEARTBEAT_SMOOTHING_FACTOR;
+      }
+    }
+
+    this.lastSynchronizationTimestamp = now;
+
+    this.synchronizationExpiration.setDuration(this.getSynchronizationExpirationDuration());
+    this.synchronizationExpiration.playFromStart();
 
     if (this.controls.getOpacity() == 1.0) {
       FadeTransition fadeOutTransition = new FadeTransition(TRANSITION_DURATION, this.controls);
@@ -271,13 +586,185 @@ public class MainWindowController implements Initializable {
     }
   }
 
+  /**
+   * Resets all synchronization specific state once no further synchronization packets have been
+   * received within the expiration window.
+   */
+  private void expireSynchronization() {
+    logger.info("Synchronization has expired - Returning to manual mode");
+
+    this.lastSynchronizationTimestamp = 0;
+    this.heartbeatInterval = Double.NaN;
+
+    // the next game instance which reports an update is followed from now on
+    this.followedSource = NO_SOURCE;
+
+    // reset world state information which would otherwise not reset on its own (e.g.
+    // functionality which is specific to the synchronization server)
+    this.setRaining(false);
+    this.setPaused(false);
+
+    if (this.synchronizationLabel.getOpacity() == 1.0) {
+      FadeTransition fadeOutTransition = new FadeTransition(TRANSITION_DURATION,
+          this.synchronizationLabel);
+      fadeOutTransition.setFromValue(1.0);
+      fadeOutTransition.setToValue(0.0);
+      fadeOutTransition.play();
+    }
+
+    if (this.controls.getOpacity() == 0.0) {
+      FadeTransition fadeInTransition = new FadeTransition(TRANSITION_DURATION, this.controls);
+      fadeInTransition.setFromValue(0.0);
+      fadeInTransition.setToValue(1.0);
+      fadeInTransition.play();
+    }
+  }
+
+  /**
+   * Computes the duration after which the current synchronization expires based on the observed
+   * heartbeat interval of the sender.
+   */
+  @Nonnull
+  private Duration getSynchronizationExpirationDuration() {
+    if (Double.isNaN(this.heartbeatInterval)) {
+      return SYNCHRONIZATION_EXPIRATION_DURATION;
+    }
+
+    return Duration.millis(Math.max(MINIMUM_SYNCHRONIZATION_EXPIRATION_DURATION.toMillis(),
+        this.heartbeatInterval * SYNCHRONIZATION_EXPIRATION_HEARTBEATS));
+  }
+
   /**
    * Sets the cycle time based on a percentage.
    *
    * @param percentage a percentage.
    */
   public void setCycleTime(@Nonnegative double percentage) {
-    this.cycleTimeline.jumpTo(CYCLE_TIME.multiply(percentage));
+    long ticks = Math.round(percentage * WorldClock.TICKS_PER_DAY);
+
+    Diagnostics.clockJump(this.worldClock.getTimeOfDay(), ticks);
+    this.worldClock.setTicks(ticks);
+  }
+
+  /**
+   * <p>Switches between the full size window and the compact mini window.</p>
+   *
+   * <p>While in mini mode, the window is kept on top of all other windows and merely displays the
+   * time along with a day/night and rain indicator. All background images are released in order to
+   * reduce memory consumption and are decoded again once the full size window is restored.</p>
+   *
+   * @param miniMode true if the mini window shall be displayed, false otherwise.
+   */
+  public void setMiniMode(boolean miniMode) {
+    if (this.miniMode == miniMode) {
+      return;
+    }
+
+    logger.info("Switching to {} window", miniMode ? "mini" : "full size");
+    this.completeFrameStatistics();
+
+    Stage stage = (Stage) (this.miniMode ? this.miniScene : this.root.getScene()).getWindow();
+    this.miniMode = miniMode;
+    this.configurationService.setMiniMode(miniMode);
+    this.displayedTick = -1;
+
+    if (miniMode) {
+      if (this.miniScene == null) {
+        this.miniWindowController = this.injector.getInstance(MiniWindowController.class);
+        this.miniScene = new Scene(MiniWindowView.load(this.miniWindowController));
+        this.miniWindowController.bind(this.time.textProperty(), this.rainBinding);
+      }
+
+      stage.setScene(this.miniScene);
+      stage.setWidth(MineClockApplication.MINI_WINDOW_WIDTH);
+      stage.setHeight(MineClockApplication.MINI_WINDOW_HEIGHT);
+      stage.setAlwaysOnTop(true);
+
+      this.rainTransition.stop();
+      this.unloadBackgrounds();
+    } else {
+      this.loadBackgrounds(this.layoutWidth, this.layoutHeight);
+
+      // the rain layer is not decoded while in mini mode and thus needs to be restored manually
+      this.rainTransition.stop();
+      if (this.rainBinding.get()) {
+        this.loadBackground(this.backgroundRain, "rain", this.layoutWidth, this.layoutHeight);
+      }
+      this.backgroundRain.setOpacity(this.rainBinding.get() ? 1 : 0);
+
+      stage.setAlwaysOnTop(false);
+      stage.setScene(this.root.getScene());
+      stage.setWidth(this.layoutWidth);
+      stage.setHeight(this.layoutHeight);
+    }
+
+    this.updateCycle(this.worldClock.getTimeOfDay());
+  }
+
+  /**
+   * <p>Constructs the settings window (unless it has been constructed previously).</p>
+   *
+   * <p>The window is constructed only once and merely hidden when closed. As a result, its
+   * controls are bound to the configuration exactly once regardless of how often the window is
+   * opened.</p>
+   */
+  private void prepareSettingsWindow() {
+    if (this.settingsStage != null) {
+      return;
+    }
+
+    long start = System.nanoTime();
+
+    Scene scene = new Scene(SettingsWindowView.load(
+        this.injector.getInstance(SettingsWindowController.class),
+        this.injector.getInstance(ResourceBundle.class)));
+
+    this.settingsStage = new Stage(StageStyle.UNDECORATED);
+    this.settingsStage.initOwner(this.root.getScene().getWindow());
+    this.settingsStage.initModality(Modality.WINDOW_MODAL);
+    this.settingsStage.setScene(scene);
+    this.settingsStage.setWidth(500);
+    this.settingsStage.setHeight(500);
+
+    logger.debug("Constructed settings window in {} ms",
+        Unbox.box((System.nanoTime() - start) / 1_000_000));
+  }
+
+  /**
+   * Constructs the dashboard window (unless it has been constructed previously).
+   */
+  private void prepareDashboardWindow() {
+    if (this.dashboardStage != null) {
+      return;
+    }
+
+    DashboardWindowController controller = this.injector
+        .getInstance(DashboardWindowController.class);
+    Scene scene = new Scene(DashboardWindowView.load(controller,
+        this.injector.getInstance(ResourceBundle.class)));
+
+    this.dashboardStage = new Stage(StageStyle.UNDECORATED);
+    this.dashboardStage.initOwner(this.root.getScene().getWindow());
+    this.dashboardStage.setScene(scene);
+    this.dashboardStage.setWidth(controller.getWidth());
+    this.dashboardStage.setHeight(controller.getHeight());
+
+    // clocks (and their background images) are only retained while the dashboard is visible
+    this.dashboardStage.setOnShown((e) -> controller.start());
+    this.dashboardStage.setOnHidden((e) -> controller.stop());
+  }
+
+  /**
+   * Releases all background images.
+   */
+  private void unloadBackgrounds() {
+    this.unloadBackground(this.cycle);
+    this.unloadBackground(this.backgroundMask);
+    this.unloadBackground(this.backgroundMorning);
+    this.unloadBackground(this.backgroundDay);
+    this.unloadBackground(this.backgroundEvening);
+    this.unloadBackground(this.backgroundNight);
+    this.unloadBackground(this.backgroundRain);
   }
 
   /**
@@ -295,11 +782,7 @@ public class MainWindowController implements Initializable {
    * @param paused true if game is paused, false otherwise.
    */
   public void setPaused(boolean paused) {
-    if (paused) {
-      this.cycleTimeline.pause();
-    } else {
-      this.cycleTimeline.play();
-    }
+    this.worldClock.setPaused(paused);
   }
 
   // <editor-fold desc="Event Handlers">
@@ -308,11 +791,13 @@ public class MainWindowController implements Initializable {
    * Switches the application into landscape mode.
    */
   @FXML
-  private void onLandscape(@Nonnull ActionEvent event) {
+  void onLandscape(@Nonnull ActionEvent event) {
     logger.info("Switching to landscape mode");
+    this.completeFrameStatistics();
 
-    this.root.getScene().getWindow().setWidth(960);
     this.root.getStyleClass().remove("portrait");
+    this.applyLayout(MineClockApplication.DEFAULT_WINDOW_WIDTH,
+        MineClockApplication.DEFAULT_WINDOW_HEIGHT);
 
     this.landscapeButton.setVisible(false);
   }
@@ -321,11 +806,13 @@ public class MainWindowController implements Initializable {
    * Switches the application to portrait mode.
    */
   @FXML
-  private void onPortrait(@Nonnull ActionEvent event) {
+  void onPortrait(@Nonnull ActionEvent event) {
     logger.info("Switching to portrait mode");
+    this.completeFrameStatistics();
 
-    this.root.getScene().getWindow().setWidth(400);
     this.root.getStyleClass().add("portrait");
+    this.applyLayout(MineClockApplication.PORTRAIT_WINDOW_WIDTH,
+        MineClockApplication.DEFAULT_WINDOW_HEIGHT);
 
     this.portraitButton.setVisible(false);
   }
@@ -335,7 +822,7 @@ public class MainWindowController implements Initializable {
    * completed).
    */
   @FXML
-  private void onSetEvening(@Nonnull ActionEvent event) {
+  void onSetEvening(@Nonnull ActionEvent event) {
     logger.info("Manually switching time to evening");
     this.setCycleTime(TIMELINE_POSITION_EVENING);
   }
@@ -345,7 +832,7 @@ public class MainWindowController implements Initializable {
    * completed).
    */
   @FXML
-  private void onSetMidnight(@Nonnull ActionEvent event) {
+  void onSetMidnight(@Nonnull ActionEvent event) {
     logger.info("Manually switching time to midnight");
     this.setCycleTime(TIMELINE_POSITION_MIDNIGHT);
   }
@@ -355,7 +842,7 @@ public class MainWindowController implements Initializable {
    * completed).
    */
   @FXML
-  private void onSetMorning(@Nonnull ActionEvent event) {
+  void onSetMorning(@Nonnull ActionEvent event) {
     logger.info("Manually switching time to morning");
     this.setCycleTime(TIMELINE_POSITION_MORNING);
   }
@@ -365,74 +852,50 @@ public class MainWindowController implements Initializable {
    * completed).
    */
   @FXML
-  private void onSetNoon(@Nonnull ActionEvent event) {
+  void onSetNoon(@Nonnull ActionEvent event) {
     logger.info("Manually switching time to noon");
     this.setCycleTime(TIMELINE_POSITION_NIGHT);
   }
 
   /**
-   * Opens a settings dialogue which permits the customization of the application.
+   * Toggles the tick rate graph which displays the tick rate and synchronization statistics.
    */
   @FXML
-  private void onSettings(@Nonnull ActionEvent event) {
-    logger.info("Opening settings dialogue");
-
-    try {
-      Scene scene = new Scene(this.injector.getInstance(FXMLLoader.class)
-          .load(this.getClass().getResourceAsStream("/fxml/SettingsWindow.fxml")));
+  void onToggleStatistics(@Nonnull ActionEvent event) {
+    this.tickRateGraph.setVisible(!this.tickRateGraph.isVisible());
+    this.tickRateGraphTimestamp = 0;
+  }
 
-      Stage stage = new Stage(StageStyle.UNDECORATED);
-      stage.initOwner(this.root.getScene().getWindow());
-      stage.initModality(Modality.WINDOW_MODAL);
-      stage.setScene(scene);
-      stage.setWidth(500);
-      stage.setHeight(500);
+  /**
+   * Opens a dashboard which displays a separate clock for every synchronized game instance.
+   */
+  @FXML
+  void onDashboard(@Nonnull ActionEvent event) {
+    logger.info("Opening dashboard");
 
-      stage.show();
-    } catch (IOException ex) {
-      throw new RuntimeException("Could not access settings window: " + ex.getMessage(), ex);
-    }
+    this.prepareDashboardWindow();
+    this.dashboardStage.show();
+    this.dashboardStage.toFront();
   }
 
   /**
-   * Re-Evaluates the synchronization state of the application on a regular basis.
+   * Switches the application to the compact mini window.
    */
-  private class SynchronizationTask extends TimerTask {
+  @FXML
+  void onMiniMode(@Nonnull ActionEvent event) {
+    this.setMiniMode(true);
+  }
 
-    /**
-     * {@inheritDoc}
-     */
-    @Override
-    public void run() {
-      Platform.runLater(() -> {
+  /**
+   * Opens a settings dialogue which permits the customization of the application.
+   */
+  @FXML
+  void onSettings(@Nonnull ActionEvent event) {
+    logger.info("Opening settings dialogue");
 
-        Instant expirationTimestamp = MainWindowController.this.lastSynchronizationTimestamp
-            .plus(SYNCHRONIZATION_EXPIRATION_DURATION);
-
-        if (expirationTimestamp.isBefore(Instant.now())) {
-          // reset world state information which would otherwise not reset on its own (e.g.
-          // functionality which is specific to the synchronization server)
-          MainWindowController.this.setRaining(false);
-          MainWindowController.this.setPaused(false);
-
-          if (MainWindowController.this.synchronizationLabel.getOpacity() == 1.0) {
-            FadeTransition fadeOutTransition = new FadeTransition(TRANSITION_DURATION,
-                MainWindowController.this.synchronizationLabel);
-            fadeOutTransition.setFromValue(1.0);
-            fadeOutTransition.setToValue(0.0);
-            fadeOutTransition.play();
-          }
-
-          if (MainWindowController.this.controls.getOpacity() == 0.0) {
-            FadeTransition fadeInTransition = new FadeTransition(TRANSITION_DURATION,
-                MainWindowController.this.controls);
-            fadeInTransition.setFromValue(0.0);
-            fadeInTransition.setToValue(1.0);
-            fadeInTransition.play();
-          }
-        }
-      });
-    }
+    this.prepareSettingsWindow();
+    this.settingsStage.show();
+    this.settingsStage.toFront();
   }
   // </editor-fold>
 }
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tv.dotstart.minecraft.clock.controller;
+
+import javafx.beans.value.ObservableBooleanValue;
+import javafx.beans.value.ObservableStringValue;
+import javafx.event.ActionEvent;
+import javafx.fxml.FXML;
+import javafx.scene.control.Label;
+import javafx.scene.layout.VBox;
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+
+/**
+ * <p>Provides a handler for all functionality declared by {@code MiniWindow.fxml}.</p>
+ *
+ * <p>The mini window merely mirrors the state of the main window (which continues to drive the
+ * clock while the mini window is displayed) and thus does not maintain any state of its own.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class MiniWindowController {
+
+  private static final String DAY_GLYPH = "\uf185";
+  private static final String NIGHT_GLYPH = "\uf186";
+
+  private final MainWindowController mainWindowController;
+  private boolean night;
+
+  // <editor-fold desc="FXML Elements">
+  @FXML
+  VBox root;
+  @FXML
+  Label cycleIndicator;
+  @FXML
+  Label time;
+  @FXML
+  Label rainIndicator;
+  // </editor-fold>
+
+  @Inject
+  public MiniWindowController(@Nonnull MainWindowController mainWindowController) {
+    this.mainWindowController = mainWindowController;
+  }
+
+  /**
+   * Binds the displayed time and weather to the respective state of the main window.
+   */
+  void bind(@Nonnull ObservableStringValue time, @Nonnull ObservableBooleanValue raining) {
+    this.time.textProperty().bind(time);
+    this.rainIndicator.visibleProperty().bind(raining);
+  }
+
+  /**
+   * Sets whether the night indicator is displayed.
+   *
+   * @param night true if it is currently night, false otherwise.
+   */
+  void setNight(boolean night) {
+    if (this.night == night) {
+      return;
+    }
+
+    this.night = night;
+    this.cycleIndicator.setText(night ? NIGHT_GLYPH : DAY_GLYPH);
+
+    if (night) {
+      this.root.getStyleClass().add("night");
+    } else {
+      this.root.getStyleClass().remove("night");
+    }
+  }
+
+  // <editor-fold desc="Event Handlers">
+
+  /**
+   * Switches back to the full size main window.
+   */
+  @FXML
+  void onRestore(@Nonnull ActionEvent event) {
+    this.mainWindowController.setMiniMode(false);
+  }
+  // </editor-fold>
+}
@@ -40,15 +40,17 @@ public class SettingsWindowController implements Initializable {
 
   private final ConfigurationService configurationService;
   @FXML
-  private CheckBox allowSynchronization;
+  CheckBox allowBroadcast;
   @FXML
-  private CheckBox display24h;
+  CheckBox allowSynchronization;
   @FXML
-  private CheckBox displayWeather;
+  CheckBox display24h;
   @FXML
-  private CheckBox launchPortraitMode;
+  CheckBox displayWeather;
   @FXML
-  private Label versionLabel;
+  CheckBox launchPortraitMode;
+  @FXML
+  Label versionLabel;
 
   @Inject
   public SettingsWindowController(@Nonnull ConfigurationService configurationService) {
@@ -65,6 +67,8 @@ public class SettingsWindowController implements Initializable {
         .bindBidirectional(this.configurationService.launchPortraitModeProperty());
     this.allowSynchronization.selectedProperty()
         .bindBidirectional(this.configurationService.allowSynchronizationProperty());
+    this.allowBroadcast.selectedProperty()
+        .bindBidirectional(this.configurationService.allowBroadcastProperty());
     this.display24h.selectedProperty()
         .bindBidirectional(this.configurationService.display24HourTimeProperty());
     this.displayWeather.selectedProperty()
@@ -82,7 +86,7 @@ public class SettingsWindowController implements Initializable {
   }
 
   @FXML
-  private void onForums() {
+  void onForums() {
     try {
       Desktop.getDesktop().browse(new URI(
           "http://www.minecraftforum.net/forums/mapping-and-modding/minecraft-tools/2746931"));
@@ -92,7 +96,7 @@ public class SettingsWindowController implements Initializable {
   }
 
   @FXML
-  private void onOpenSourceInformation() {
+  void onOpenSourceInformation() {
     try {
       Desktop.getDesktop()
           .browse(new URI("https://github.com/dotStart/MineClock/wiki/Third-Party-Licenses"));
@@ -102,7 +106,7 @@ public class SettingsWindowController implements Initializable {
   }
 
   @FXML
-  private void onSource() {
+  void onSource() {
     try {
       Desktop.getDesktop().browse(new URI("https://github.com/dotStart/MineClock"));
     } catch (URISyntaxException | IOException ex) {
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tv.dotstart.minecraft.clock.cycle;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.inject.Singleton;
+import tv.dotstart.minecraft.clock.network.WorldClock;
+
+/**
+ * <p>Provides a precomputed lookup table which maps every tick of a day/night cycle to the
+ * respective background weights and sky rotation.</p>
+ *
+ * <p>Weights are linearly interpolated between a set of fixed key points (given as fractions of the
+ * day/night cycle) when the table is first constructed and will not require any further
+ * computation when looked up.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+@Singleton
+public class SkyTable {
+
+  private static final double[][] MORNING_KEYS = {{0, 1}, {0.125, 0}, {0.875, 0}, {1, 1}};
+  private static final double[][] DAY_KEYS = {{0, 0}, {0.125, 1}, {0.375, 1}, {0.625, 0}, {1, 0}};
+  private static final double[][] EVENING_KEYS = {{0, 0}, {0.375, 0}, {0.5, 1}, {0.625, 0},
+      {1, 0}};
+  private static final double[][] NIGHT_KEYS = {{0, 0}, {0.5, 0}, {0.625, 1}, {0.875, 1}, {1, 0}};
+  private static final double[][] ROTATION_KEYS = {{0, -90}, {1, 270}};
+
+  private final float[] morning = new float[WorldClock.TICKS_PER_DAY];
+  private final float[] day = new float[WorldClock.TICKS_PER_DAY];
+  private final float[] evening = new float[WorldClock.TICKS_PER_DAY];
+  private final float[] night = new float[WorldClock.TICKS_PER_DAY];
+  private final float[] rotation = new float[WorldClock.TICKS_PER_DAY];
+
+  public SkyTable() {
+    fill(this.morning, MORNING_KEYS);
+    fill(this.day, DAY_KEYS);
+    fill(this.evening, EVENING_KEYS);
+    fill(this.night, NIGHT_KEYS);
+    fill(this.rotation, ROTATION_KEYS);
+  }
+
+  /**
+   * Populates a table with the values of a piecewise linear function.
+   *
+   * @param table a table.
+   * @param keys a set of key points (consisting of a cycle fraction and its respective value).
+   */
+  private static void fill(@Nonnull float[] table, @Nonnull double[][] keys) {
+    int segment = 0;
+
+    for (int i = 0; i < table.length; ++i) {
+      double fraction = i / (double) table.length;
+
+      while (keys[segment + 1][0] < fraction) {
+        ++segment;
+      }
+
+      double[] from = keys[segment];
+      double[] to = keys[segment + 1];
+      double progress = (fraction - from[0]) / (to[0] - from[0]);
+
+      table[i] = (float) (from[1] + (to[1] - from[1]) * progress);
+    }
+  }
+
+  /**
+   * Retrieves the opacity of the morning background at the specified tick.
+   */
+  public float getMorningOpacity(@Nonnegative int tick) {
+    return this.morning[tick];
+  }
+
+  /**
+   * Retrieves the opacity of the day background at the specified tick.
+   */
+  public float getDayOpacity(@Nonnegative int tick) {
+    return this.day[tick];
+  }
+
+  /**
+   * Retrieves the opacity of the evening background at the specified tick.
+   */
+  public float getEveningOpacity(@Nonnegative int tick) {
+    return this.evening[tick];
+  }
+
+  /**
+   * Retrieves the opacity of the night background at the specified tick.
+   */
+  public float getNightOpacity(@Nonnegative int tick) {
+    return this.night[tick];
+  }
+
+  /**
+   * Retrieves the rotation (in degrees) of the sun/moon cycle at the specified tick.
+   */
+  public float getRotation(@Nonnegative int tick) {
+    return this.rotation[tick];
+  }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tv.dotstart.minecraft.clock.cycle;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import tv.dotstart.minecraft.clock.network.WorldClock;
+
+/**
+ * Provides a precomputed table of time labels for every in-game minute of a day/night cycle in
+ * order to avoid formatting strings while the clock is animated.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public final class TimeLabelTable {
+
+  private final boolean display24HourTime;
+  private final String[] labels = new String[WorldClock.MINUTES_PER_DAY];
+
+  public TimeLabelTable(boolean display24HourTime) {
+    this.display24HourTime = display24HourTime;
+
+    for (int i = 0; i < WorldClock.MINUTES_PER_DAY; ++i) {
+      this.labels[i] = WorldClock.format(i, display24HourTime);
+    }
+  }
+
+  /**
+   * Retrieves the label for a specific minute of the day/night cycle.
+   *
+   * @param minuteOfDay a minute index as returned by {@link WorldClock#getMinuteOfDay(long)}.
+   * @return a pre-formatted time label.
+   */
+  @Nonnull
+  public String get(@Nonnegative int minuteOfDay) {
+    return this.labels[minuteOfDay];
+  }
+
+  public boolean isDisplay24HourTime() {
+    return this.display24HourTime;
+  }
+}
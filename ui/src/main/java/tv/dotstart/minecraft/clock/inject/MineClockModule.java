@@ -0,0 +1,104 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tv.dotstart.minecraft.clock.inject;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Singleton;
+import java.util.ResourceBundle;
+import javax.annotation.Nonnull;
+import tv.dotstart.minecraft.clock.MineClockApplication;
+import tv.dotstart.minecraft.clock.controller.DashboardWindowController;
+import tv.dotstart.minecraft.clock.controller.MainWindowController;
+import tv.dotstart.minecraft.clock.controller.MiniWindowController;
+import tv.dotstart.minecraft.clock.controller.SettingsWindowController;
+import tv.dotstart.minecraft.clock.cycle.SkyTable;
+import tv.dotstart.minecraft.clock.metrics.StartupReport;
+import tv.dotstart.minecraft.clock.service.BackgroundImageService;
+import tv.dotstart.minecraft.clock.service.ConfigurationService;
+import tv.dotstart.minecraft.clock.service.WorldStateStore;
+import tv.dotstart.minecraft.clock.service.broadcast.BroadcastChannelInitializer;
+import tv.dotstart.minecraft.clock.service.broadcast.BroadcastRequestHandler;
+import tv.dotstart.minecraft.clock.service.broadcast.WorldStateBroadcastServer;
+import tv.dotstart.minecraft.clock.service.broadcast.WorldStateBroadcaster;
+import tv.dotstart.minecraft.clock.service.event.WorldStateEventBus;
+import tv.dotstart.minecraft.clock.service.event.WorldStateSources;
+import tv.dotstart.minecraft.clock.service.record.WorldStateRecorder;
+import tv.dotstart.minecraft.clock.service.record.WorldStateReplayer;
+import tv.dotstart.minecraft.clock.service.server.ServerChannelInitializer;
+import tv.dotstart.minecraft.clock.service.server.WorldStateHandler;
+import tv.dotstart.minecraft.clock.service.server.WorldStateSynchronizationServer;
+
+/**
+ * <p>Declares the complete object graph of the application.</p>
+ *
+ * <p>All types are bound explicitly (just-in-time bindings are disabled) in order to permit the
+ * injector to validate the entire graph when it is created and to avoid resolving bindings
+ * reflectively while the application is already running. When the injector is created in the
+ * production stage, all singletons declared here are instantiated eagerly as well.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class MineClockModule extends AbstractModule {
+
+  private final MineClockApplication application;
+  private final StartupReport startupReport;
+
+  public MineClockModule(@Nonnull MineClockApplication application,
+      @Nonnull StartupReport startupReport) {
+    this.application = application;
+    this.startupReport = startupReport;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected void configure() {
+    this.binder().requireExplicitBindings();
+    this.binder().disableCircularProxies();
+
+    this.bind(MineClockApplication.class).toInstance(this.application);
+    this.bind(StartupReport.class).toInstance(this.startupReport);
+    this.bind(ResourceBundleProvider.class);
+    this.bind(ResourceBundle.class).toProvider(ResourceBundleProvider.class).in(Singleton.class);
+
+    // Services
+    this.bind(ConfigurationService.class);
+    this.bind(BackgroundImageService.class);
+    this.bind(SkyTable.class);
+    this.bind(WorldStateStore.class);
+    this.bind(WorldStateEventBus.class);
+    this.bind(WorldStateSources.class);
+    this.bind(WorldStateRecorder.class);
+    this.bind(WorldStateReplayer.class);
+
+    this.bind(ServerChannelInitializer.class);
+    this.bind(WorldStateHandler.class);
+    this.bind(WorldStateSynchronizationServer.class);
+
+    this.bind(WorldStateBroadcaster.class);
+    this.bind(BroadcastChannelInitializer.class);
+    this.bind(BroadcastRequestHandler.class);
+    this.bind(WorldStateBroadcastServer.class);
+
+    // Controllers
+    this.bind(MainWindowController.class);
+    this.bind(MiniWindowController.class);
+    this.bind(SettingsWindowController.class);
+    this.bind(DashboardWindowController.class);
+  }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tv.dotstart.minecraft.clock.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.Arrays;
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import tv.dotstart.minecraft.clock.network.WorldClock;
+
+/**
+ * <p>Measures the rendering cost of the main window for every simulated in-game day.</p>
+ *
+ * <p>For each pulse, the interval to the previous pulse (the frame time) and the amount of time
+ * spent within the pulse handler are recorded. Once the displayed time wraps around to the next
+ * day (or the period is completed explicitly, e.g. when the window layout is changed), the pulse
+ * count, frame time distribution and consumed process CPU time of the period are logged and the
+ * statistics are reset.</p>
+ *
+ * <p>Statistics are only gathered when the {@code mineclock.frame-statistics} system property is
+ * set. Combined with a replayed synchronization stream (see {@code mineclock.replay}) and a
+ * headless JavaFX platform, this permits benchmarking renderer changes on machines without a
+ * display or GPU.</p>
+ *
+ * <p>Instances of this class are not thread safe and are expected to be accessed by the JavaFX
+ * application thread.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public final class FrameStatistics {
+
+  private static final Logger logger = LogManager.getFormatterLogger(FrameStatistics.class);
+
+  /**
+   * Defines the width of a single frame time histogram bucket (in nanoseconds).
+   */
+  private static final long BUCKET_WIDTH = 100_000;
+
+  /**
+   * Defines the amount of histogram buckets (frame times beyond the last bucket are accumulated
+   * within the last bucket).
+   */
+  private static final int BUCKET_COUNT = 1000;
+
+  private final int[] histogram = new int[BUCKET_COUNT];
+  private final OperatingSystemMXBean operatingSystem = ManagementFactory
+      .getOperatingSystemMXBean();
+
+  private long periodTimestamp;
+  private long periodCpuTime;
+  private long previousTimestamp;
+  private int previousTimeOfDay = -1;
+
+  private int pulses;
+  private long frameTimeSum;
+  private long frameTimeMax;
+  private long workTimeSum;
+  private long workTimeMax;
+
+  /**
+   * Evaluates whether frame statistics have been requested for this application instance.
+   */
+  public static boolean isEnabled() {
+    return Boolean.getBoolean("mineclock.frame-statistics");
+  }
+
+  /**
+   * Records a single pulse.
+   *
+   * @param timestamp the monotonic time (in nanoseconds) at which the pulse started.
+   * @param workTime the amount of time (in nanoseconds) spent within the pulse handler.
+   * @param timeOfDay the time of day displayed as a result of the pulse.
+   * @param layout a human readable description of the active window layout.
+   */
+  public void record(long timestamp, @Nonnegative long workTime, @Nonnegative int timeOfDay,
+      @Nonnull String layout) {
+    if (this.previousTimestamp == 0) {
+      this.reset(timestamp);
+    } else {
+      long frameTime = timestamp - this.previousTimestamp;
+
+      this.pulses++;
+      this.frameTimeSum += frameTime;
+      this.frameTimeMax = Math.max(this.frameTimeMax, frameTime);
+      this.workTimeSum += workTime;
+      this.workTimeMax = Math.max(this.workTimeMax, workTime);
+      this.histogram[(int) Math.min(BUCKET_COUNT - 1, frameTime / BUCKET_WIDTH)]++;
+    }
+
+    this.previousTimestamp = timestamp;
+
+    // the time of day wraps around at the end of each day (small backwards corrections caused
+    // by synchronization are not considered a new day)
+    if (this.previousTimeOfDay - timeOfDay > WorldClock.TICKS_PER_DAY / 2) {
+      this.complete("day", layout);
+    }
+    this.previousTimeOfDay = timeOfDay;
+  }
+
+  /**
+   * Logs the statistics of the current period and starts a new period.
+   *
+   * @param period a human readable description of the period.
+   * @param layout a human readable description of the window layout active during the period.
+   */
+  public void complete(@Nonnull String period, @Nonnull String layout) {
+    if (this.pulses != 0) {
+      long cpuTime = this.getProcessCpuTime();
+
+      logger.info(
+          "Simulated %s completed after %.1f s (%s): %d pulses, frame time %.2f ms mean / %.2f ms"
+              + " p50 / %.2f ms p99 / %.2f ms max, pulse handler %.3f ms mean / %.3f ms max,"
+              + " CPU %s",
+          period, (this.previousTimestamp - this.periodTimestamp) / 1_000_000_000.0, layout,
+          this.pulses, this.frameTimeSum / (this.pulses * 1_000_000.0),
+          this.percentile(0.5) / 1_000_000.0, this.percentile(0.99) / 1_000_000.0,
+          this.frameTimeMax / 1_000_000.0, this.workTimeSum / (this.pulses * 1_000_000.0),
+          this.workTimeMax / 1_000_000.0,
+          cpuTime == -1 || this.periodCpuTime == -1 ? "unknown"
+              : ((cpuTime - this.periodCpuTime) / 1_000_000) + " ms");
+    }
+
+    this.reset(this.previousTimestamp);
+  }
+
+  /**
+   * Resets all statistics and starts a new period at the specified time.
+   */
+  private void reset(long timestamp) {
+    this.periodTimestamp = timestamp;
+    this.periodCpuTime = this.getProcessCpuTime();
+
+    this.pulses = 0;
+    this.frameTimeSum = 0;
+    this.frameTimeMax = 0;
+    this.workTimeSum = 0;
+    this.workTimeMax = 0;
+    Arrays.fill(this.histogram, 0);
+  }
+
+  /**
+   * Approximates a frame time percentile (in nanoseconds) based on the frame time histogram.
+   */
+  private long percentile(double percentile) {
+    int threshold = (int) Math.ceil(this.pulses * percentile);
+    int count = 0;
+
+    for (int i = 0; i < BUCKET_COUNT; ++i) {
+      count += this.histogram[i];
+
+      if (count >= threshold) {
+        return (i + 1) * BUCKET_WIDTH;
+      }
+    }
+
+    return this.frameTimeMax;
+  }
+
+  /**
+   * Retrieves the CPU time (in nanoseconds) consumed by the entire process (including the render
+   * thread) or -1 when not supported by the VM.
+   */
+  private long getProcessCpuTime() {
+    if (this.operatingSystem instanceof com.sun.management.OperatingSystemMXBean) {
+      return ((com.sun.management.OperatingSystemMXBean) this.operatingSystem)
+          .getProcessCpuTime();
+    }
+
+    return -1;
+  }
+}
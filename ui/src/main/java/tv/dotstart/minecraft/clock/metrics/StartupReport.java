@@ -0,0 +1,153 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tv.dotstart.minecraft.clock.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * <p>Records the duration of the individual phases the application passes through while starting
+ * up.</p>
+ *
+ * <p>All durations are measured using the monotonic system clock. Phases are recorded relative to
+ * the previously recorded phase unless their duration is given explicitly (for instance when a
+ * phase is executed asynchronously).</p>
+ *
+ * <p>When a budget is configured (via the {@code mineclock.startup.budget} system property in
+ * milliseconds), a warning is emitted whenever startup takes longer than permitted. The build
+ * enforces the budget by launching the application on a headless platform as part of its tests
+ * (the budget may be adjusted via the {@code startupBudget} project property).</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class StartupReport implements StartupReportMXBean {
+
+  private static final Logger logger = LogManager.getFormatterLogger(StartupReport.class);
+
+  /**
+   * Defines the maximum permitted startup duration (in milliseconds) or zero when no budget has
+   * been configured.
+   */
+  private static final long BUDGET = Long.getLong("mineclock.startup.budget", 0);
+
+  private final long launchTimestamp;
+  private final Map<String, Long> phases = new LinkedHashMap<>();
+  private long phaseTimestamp;
+  private long totalDuration = -1;
+
+  public StartupReport(long launchTimestamp) {
+    this.launchTimestamp = launchTimestamp;
+    this.phaseTimestamp = launchTimestamp;
+  }
+
+  /**
+   * Marks the end of a phase which started when the previous phase ended.
+   *
+   * @param phase a phase name.
+   */
+  public synchronized void mark(@Nonnull String phase) {
+    long now = System.nanoTime();
+
+    this.phases.put(phase, now - this.phaseTimestamp);
+    this.phaseTimestamp = now;
+  }
+
+  /**
+   * Records a phase of an explicit duration (e.g. a phase which is executed in parallel to other
+   * phases).
+   *
+   * @param phase a phase name.
+   * @param duration a duration in nanoseconds.
+   */
+  public synchronized void record(@Nonnull String phase, @Nonnegative long duration) {
+    this.phases.put(phase, duration);
+
+    if (this.totalDuration != -1) {
+      logger.info("Startup phase %s completed after %d ms", phase,
+          TimeUnit.NANOSECONDS.toMillis(duration));
+    }
+  }
+
+  /**
+   * Marks the application startup as completed, logs the resulting report and publishes it via
+   * JMX.
+   */
+  public void complete() {
+    synchronized (this) {
+      this.totalDuration = System.nanoTime() - this.launchTimestamp;
+
+      StringBuilder builder = new StringBuilder();
+      this.phases.forEach((phase, duration) -> {
+        if (builder.length() != 0) {
+          builder.append(", ");
+        }
+
+        builder.append(phase).append(": ").append(TimeUnit.NANOSECONDS.toMillis(duration))
+            .append(" ms");
+      });
+
+      logger.info("Startup completed in %d ms (%s)", this.getTotalDuration(), builder);
+
+      if (BUDGET != 0 && this.getTotalDuration() > BUDGET) {
+        logger.warn("Startup exceeded its budget of %d ms by %d ms", BUDGET,
+            this.getTotalDuration() - BUDGET);
+      }
+    }
+
+    // registration with the platform MBean server is comparatively expensive and is thus moved
+    // off the calling thread
+    Thread thread = new Thread(this::register, "startup-report");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  private void register() {
+    try {
+      ManagementFactory.getPlatformMBeanServer()
+          .registerMBean(this, new ObjectName("tv.dotstart.minecraft.clock:type=StartupReport"));
+    } catch (JMException ex) {
+      logger.warn("Could not publish startup report: %s", ex.getMessage());
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public synchronized long getTotalDuration() {
+    return this.totalDuration == -1 ? -1 : TimeUnit.NANOSECONDS.toMillis(this.totalDuration);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public synchronized Map<String, Long> getPhaseDurations() {
+    Map<String, Long> durations = new LinkedHashMap<>();
+    this.phases
+        .forEach((phase, duration) -> durations.put(phase, TimeUnit.NANOSECONDS.toMillis(duration)));
+    return durations;
+  }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tv.dotstart.minecraft.clock.metrics;
+
+import java.util.Map;
+
+/**
+ * Exposes the startup report of the application via JMX.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public interface StartupReportMXBean {
+
+  /**
+   * Retrieves the total amount of time (in milliseconds) which passed between launch and the
+   * primary stage becoming visible.
+   */
+  long getTotalDuration();
+
+  /**
+   * Retrieves the duration (in milliseconds) of each startup phase in order of execution.
+   */
+  Map<String, Long> getPhaseDurations();
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tv.dotstart.minecraft.clock.metrics;
+
+import javax.annotation.Nonnegative;
+import tv.dotstart.minecraft.clock.network.WorldClock;
+
+/**
+ * <p>Retains the most recently received world state samples along with the tick rate and
+ * synchronization interval derived from them.</p>
+ *
+ * <p>Samples are stored within pre-allocated primitive arrays which are used as a ring buffer and
+ * thus the history occupies a constant amount of memory regardless of how long the application
+ * has been running. Samples are indexed from oldest ({@code 0}) to newest ({@code size() -
+ * 1}).</p>
+ *
+ * <p>Instances of this class are not thread safe and are expected to be accessed by a single
+ * thread.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public final class TickRateHistory {
+
+  private final int capacity;
+  private final long[] timestamps;
+  private final long[] ticks;
+  private final float[] tickRates;
+  private final float[] intervals;
+  private int head;
+  private int size;
+
+  /**
+   * @param capacity the maximum amount of samples which are retained.
+   */
+  public TickRateHistory(@Nonnegative int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Illegal capacity: " + capacity);
+    }
+
+    this.capacity = capacity;
+    this.timestamps = new long[capacity];
+    this.ticks = new long[capacity];
+    this.tickRates = new float[capacity];
+    this.intervals = new float[capacity];
+  }
+
+  /**
+   * Records a world state sample.
+   *
+   * <p>Since samples merely carry the time of day, the world is assumed to progress by less than
+   * an entire day between two consecutive samples. The tick rate of samples which are received
+   * while the world is paused is recorded as {@link Float#NaN}.</p>
+   *
+   * @param timestamp the monotonic time (in nanoseconds) at which the sample has been received.
+   * @param time the world time (in ticks).
+   * @param paused true if the world is paused, false otherwise.
+   */
+  public void record(long timestamp, int time, boolean paused) {
+    long ticks = time;
+    float tickRate = Float.NaN;
+    float interval = Float.NaN;
+
+    if (this.size != 0) {
+      int previous = this.index(this.size - 1);
+      long elapsed = timestamp - this.timestamps[previous];
+
+      ticks = this.ticks[previous] + WorldClock.normalize(time - this.ticks[previous]);
+      interval = elapsed / 1_000_000_000f;
+
+      if (!paused && elapsed > 0) {
+        tickRate = (ticks - this.ticks[previous]) / interval;
+      }
+    }
+
+    int index;
+    if (this.size == this.capacity) {
+      index = this.head;
+      this.head = (this.head + 1) % this.capacity;
+    } else {
+      index = this.index(this.size++);
+    }
+
+    this.timestamps[index] = timestamp;
+    this.ticks[index] = ticks;
+    this.tickRates[index] = tickRate;
+    this.intervals[index] = interval;
+  }
+
+  /**
+   * Discards all samples.
+   */
+  public void clear() {
+    this.head = 0;
+    this.size = 0;
+  }
+
+  private int index(int i) {
+    return (this.head + i) % this.capacity;
+  }
+
+  public int capacity() {
+    return this.capacity;
+  }
+
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Retrieves the monotonic time (in nanoseconds) at which a sample has been received.
+   */
+  public long getTimestamp(@Nonnegative int i) {
+    return this.timestamps[this.index(i)];
+  }
+
+  /**
+   * Retrieves the world time of a sample (in ticks since the first retained sample's day).
+   */
+  public long getTicks(@Nonnegative int i) {
+    return this.ticks[this.index(i)];
+  }
+
+  /**
+   * Retrieves the tick rate (in ticks per second) observed between a sample and its predecessor.
+   *
+   * @return a tick rate or {@link Float#NaN} if unknown.
+   */
+  public float getTickRate(@Nonnegative int i) {
+    return this.tickRates[this.index(i)];
+  }
+
+  /**
+   * Retrieves the amount of time (in seconds) which passed between a sample and its predecessor.
+   *
+   * @return an interval or {@link Float#NaN} if unknown.
+   */
+  public float getInterval(@Nonnegative int i) {
+    return this.intervals[this.index(i)];
+  }
+}
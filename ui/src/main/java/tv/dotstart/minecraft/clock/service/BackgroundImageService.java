@@ -0,0 +1,338 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tv.dotstart.minecraft.clock.service;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import javafx.scene.image.Image;
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.inject.Singleton;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * <p>Provides access to the background images used to render the day/night cycle.</p>
+ *
+ * <p>When available, images are selected from a set of pre-scaled variants which are generated at
+ * build time (as declared by {@code variants.properties}). The smallest variant which covers the
+ * requested area is chosen in order to avoid scaling large bitmaps at runtime.</p>
+ *
+ * <p>Images are decoded in the background at the size required by the requesting view. Decoded
+ * images are shared between all views which request the same image at the same size and are
+ * reference counted: Every image which has been acquired has to be released once it is no longer
+ * displayed and is evicted once its last reference has been released. As a result, additional
+ * views of an already displayed image do not occupy any additional bitmap memory.</p>
+ *
+ * <p>This service is expected to be accessed from the JavaFX application thread only.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+@Singleton
+public class BackgroundImageService {
+
+  private static final Logger logger = LogManager.getFormatterLogger(BackgroundImageService.class);
+
+  /**
+   * Defines the resource path at which all background images are located.
+   */
+  private static final String BASE_PATH = "/image/background/";
+
+  /**
+   * Defines the resource path of the manifest which lists all pre-scaled image variants.
+   */
+  private static final String MANIFEST_PATH = BASE_PATH + "variants.properties";
+
+  /**
+   * Defines the eight byte signature which prefixes every PNG file.
+   */
+  private static final long PNG_SIGNATURE = 0x89504E470D0A1A0AL;
+
+  private final Map<String, CacheEntry> entries = new HashMap<>();
+  private final Map<Image, CacheEntry> imageEntries = new IdentityHashMap<>();
+  private Properties manifest;
+
+  /**
+   * Acquires a reference to a background image which has been scaled to cover the supplied area.
+   *
+   * @param name an image name (e.g. "day").
+   * @param width a width (in pixels) or zero if unconstrained.
+   * @param height a height (in pixels) or zero if unconstrained.
+   * @return an image (which may still be loading).
+   * @see #release(Image)
+   */
+  @Nonnull
+  public Image acquire(@Nonnull String name, @Nonnegative double width,
+      @Nonnegative double height) {
+    ImageVariant variant = this.selectVariant(this.getVariants(name), width, height);
+
+    double requestedWidth = 0;
+    double requestedHeight = 0;
+
+    if (variant.width != 0 && variant.height != 0) {
+      double scale = variant.getScale(width, height);
+
+      // images are never scaled up as this would not result in any improvement in quality
+      if (scale > 0 && scale < 1) {
+        requestedWidth = Math.ceil(variant.width * scale);
+        requestedHeight = Math.ceil(variant.height * scale);
+      }
+    }
+
+    String url = variant.url.toExternalForm();
+    String key = url + '@' + requestedWidth + 'x' + requestedHeight;
+
+    CacheEntry entry = this.entries.get(key);
+    if (entry != null) {
+      ++entry.references;
+      return entry.image;
+    }
+
+    logger.info("Decoding background image %s at %.0fx%.0f", url, requestedWidth,
+        requestedHeight);
+
+    Image decoded = new Image(url, requestedWidth, requestedHeight, true, true, true);
+    decoded.errorProperty().addListener((ob, o, n) -> {
+      if (n) {
+        logger.error("Failed to decode background image \"" + name + "\": " + decoded
+            .getException().getMessage(), decoded.getException());
+      }
+    });
+
+    entry = new CacheEntry(key, decoded);
+    this.entries.put(key, entry);
+    this.imageEntries.put(decoded, entry);
+    return decoded;
+  }
+
+  /**
+   * Acquires a reference to a background image and releases a previously acquired image in its
+   * place (e.g. when the layout of a view changes).
+   *
+   * @param previous a previously acquired image or null.
+   * @return an image (which may still be loading).
+   */
+  @Nonnull
+  public Image replace(@Nullable Image previous, @Nonnull String name,
+      @Nonnegative double width, @Nonnegative double height) {
+    // the new image is acquired first in order to retain images which are re-requested at the
+    // same size
+    Image image = this.acquire(name, width, height);
+    this.release(previous);
+    return image;
+  }
+
+  /**
+   * Releases a reference to a previously acquired background image.
+   *
+   * @param image an image or null (in which case this method does nothing).
+   */
+  public void release(@Nullable Image image) {
+    if (image == null) {
+      return;
+    }
+
+    CacheEntry entry = this.imageEntries.get(image);
+    if (entry == null) {
+      logger.warn("Ignoring release of unknown image %s", image.getUrl());
+      return;
+    }
+
+    if (--entry.references == 0) {
+      logger.info("Evicting background image %s", entry.key);
+
+      this.entries.remove(entry.key);
+      this.imageEntries.remove(image);
+    }
+  }
+
+  /**
+   * Retrieves a list of all available variants of a given image (in ascending order of size).
+   */
+  @Nonnull
+  private List<ImageVariant> getVariants(@Nonnull String name) {
+    List<ImageVariant> variants = new ArrayList<>();
+    String declaration = this.getManifest().getProperty(name);
+
+    if (declaration != null) {
+      for (String entry : declaration.split(",")) {
+        int separatorIndex = entry.indexOf(':');
+        int dimensionIndex = entry.indexOf('x');
+
+        if (separatorIndex == -1 || dimensionIndex == -1 || dimensionIndex > separatorIndex) {
+          logger.warn("Ignoring malformed variant declaration for image \"%s\": %s", name, entry);
+          continue;
+        }
+
+        URL url = this.getClass().getResource(entry.substring(separatorIndex + 1));
+        if (url == null) {
+          logger.warn("Ignoring missing variant of image \"%s\": %s", name, entry);
+          continue;
+        }
+
+        variants.add(new ImageVariant(url,
+            Integer.parseInt(entry.substring(0, dimensionIndex)),
+            Integer.parseInt(entry.substring(dimensionIndex + 1, separatorIndex))));
+      }
+    }
+
+    if (variants.isEmpty()) {
+      URL url = this.getClass().getResource(BASE_PATH + name + ".png");
+
+      if (url == null) {
+        throw new IllegalArgumentException("No such background image: " + name);
+      }
+
+      int[] dimensions = readDimensions(url);
+      if (dimensions == null) {
+        variants.add(new ImageVariant(url, 0, 0));
+      } else {
+        variants.add(new ImageVariant(url, dimensions[0], dimensions[1]));
+      }
+    }
+
+    variants.sort(Comparator.comparingLong((v) -> (long) v.width * v.height));
+    return variants;
+  }
+
+  /**
+   * Selects the smallest variant which is capable of covering the requested area without being
+   * scaled up (or the largest available variant when none is large enough).
+   */
+  @Nonnull
+  private ImageVariant selectVariant(@Nonnull List<ImageVariant> variants,
+      @Nonnegative double width, @Nonnegative double height) {
+    for (ImageVariant variant : variants) {
+      if (variant.getScale(width, height) <= 1) {
+        return variant;
+      }
+    }
+
+    return variants.get(variants.size() - 1);
+  }
+
+  /**
+   * Retrieves the variant manifest (or an empty set of properties if no variants have been
+   * generated for this build).
+   */
+  @Nonnull
+  private Properties getManifest() {
+    if (this.manifest != null) {
+      return this.manifest;
+    }
+
+    this.manifest = new Properties();
+
+    try (InputStream inputStream = this.getClass().getResourceAsStream(MANIFEST_PATH)) {
+      if (inputStream == null) {
+        logger.warn("No image variant manifest found - Falling back to source images");
+        return this.manifest;
+      }
+
+      try (Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
+        this.manifest.load(reader);
+      }
+    } catch (IOException ex) {
+      logger.error("Failed to load image variant manifest: " + ex.getMessage(), ex);
+    }
+
+    return this.manifest;
+  }
+
+  /**
+   * Reads the dimensions of a PNG image from its header without decoding the image itself.
+   *
+   * @return an array consisting of width and height or null if the dimensions could not be
+   * determined.
+   */
+  @Nullable
+  private static int[] readDimensions(@Nonnull URL url) {
+    try (InputStream inputStream = url.openStream()) {
+      DataInputStream dataInputStream = new DataInputStream(inputStream);
+
+      if (dataInputStream.readLong() != PNG_SIGNATURE) {
+        return null;
+      }
+
+      dataInputStream.readInt(); // IHDR length
+      dataInputStream.readInt(); // IHDR type
+
+      return new int[]{dataInputStream.readInt(), dataInputStream.readInt()};
+    } catch (IOException ex) {
+      logger.warn("Could not read image header of %s: %s", url, ex.getMessage());
+      return null;
+    }
+  }
+
+  /**
+   * Represents a decoded image along with the amount of references which are currently held.
+   */
+  private static final class CacheEntry {
+
+    private final String key;
+    private final Image image;
+    private int references = 1;
+
+    private CacheEntry(@Nonnull String key, @Nonnull Image image) {
+      this.key = key;
+      this.image = image;
+    }
+  }
+
+  /**
+   * Represents a single pre-scaled variant of a background image.
+   */
+  private static final class ImageVariant {
+
+    private final URL url;
+    private final int width;
+    private final int height;
+
+    private ImageVariant(@Nonnull URL url, @Nonnegative int width, @Nonnegative int height) {
+      this.url = url;
+      this.width = width;
+      this.height = height;
+    }
+
+    /**
+     * Computes the factor by which this variant needs to be scaled in order to cover the supplied
+     * area.
+     */
+    private double getScale(@Nonnegative double width, @Nonnegative double height) {
+      if (this.width == 0 || this.height == 0) {
+        return 1;
+      }
+
+      return Math.max(
+          (width == 0 ? 0 : width / this.width),
+          (height == 0 ? 0 : height / this.height));
+    }
+  }
+}
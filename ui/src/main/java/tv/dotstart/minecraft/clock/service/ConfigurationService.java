@@ -16,14 +16,22 @@
  */
 package tv.dotstart.minecraft.clock.service;
 
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.value.ChangeListener;
@@ -33,6 +41,7 @@ import javax.inject.Singleton;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import tv.dotstart.minecraft.clock.MineClockApplication;
+import tv.dotstart.minecraft.clock.network.diagnostics.Diagnostics;
 
 /**
  * Provides a service which is capable of manging configuration properties and changes to said
@@ -45,11 +54,33 @@ public class ConfigurationService {
 
   private static final Logger logger = LogManager.getFormatterLogger(ConfigurationService.class);
 
+  /**
+   * Defines the amount of time (in milliseconds) for which changes are collected before they are
+   * written to disk.
+   */
+  private static final long PERSISTENCE_DELAY = 500;
+
+  /**
+   * Defines the version of the configuration file format written by this implementation.
+   */
+  private static final int CONFIGURATION_VERSION = 1;
+  private static final String VERSION_KEY = "version";
+
+  private final BooleanProperty allowBroadcast = new SimpleBooleanProperty();
   private final BooleanProperty allowSynchronization = new SimpleBooleanProperty();
   private final BooleanProperty display24HourTime = new SimpleBooleanProperty();
   private final BooleanProperty displayWeather = new SimpleBooleanProperty();
   private final BooleanProperty launchPortraitMode = new SimpleBooleanProperty();
-  private final Properties properties = new Properties();
+  private final BooleanProperty miniMode = new SimpleBooleanProperty();
+
+  private final ScheduledExecutorService persistenceExecutor = Executors
+      .newSingleThreadScheduledExecutor((r) -> {
+        Thread thread = new Thread(r, "configuration-persister");
+        thread.setDaemon(true);
+        return thread;
+      });
+  private final Object persistenceLock = new Object();
+  private Map<String, String> pendingConfiguration;
 
   @SuppressWarnings("unchecked")
   public ConfigurationService() {
@@ -58,18 +89,41 @@ public class ConfigurationService {
     // Hook Changes
     ChangeListener listener = new ConfigurationChangeListener();
 
+    this.allowBroadcast.addListener(listener);
     this.allowSynchronization.addListener(listener);
     this.display24HourTime.addListener(listener);
     this.launchPortraitMode.addListener(listener);
     this.displayWeather.addListener(listener);
+    this.miniMode.addListener(listener);
   }
 
   @Nonnull
   private Path getConfigurationPath() {
+    return MineClockApplication.getApplicationDirectory().resolve("application.cfg");
+  }
+
+  /**
+   * Retrieves the location of the XML based configuration file written by previous versions.
+   */
+  @Nonnull
+  private Path getLegacyConfigurationPath() {
     return MineClockApplication.getApplicationDirectory().resolve("application.conf");
   }
 
   // <editor-fold desc="Getters and Setters">
+  public boolean isAllowBroadcast() {
+    return this.allowBroadcast.get();
+  }
+
+  @Nonnull
+  public BooleanProperty allowBroadcastProperty() {
+    return this.allowBroadcast;
+  }
+
+  public void setAllowBroadcast(boolean allowBroadcast) {
+    this.allowBroadcast.set(allowBroadcast);
+  }
+
   public boolean isAllowSynchronization() {
     return this.allowSynchronization.get();
   }
@@ -121,61 +175,252 @@ public class ConfigurationService {
   public void setDisplayWeather(boolean displayWeather) {
     this.displayWeather.set(displayWeather);
   }
+
+  public boolean isMiniMode() {
+    return this.miniMode.get();
+  }
+
+  @Nonnull
+  public BooleanProperty miniModeProperty() {
+    return this.miniMode;
+  }
+
+  public void setMiniMode(boolean miniMode) {
+    this.miniMode.set(miniMode);
+  }
   // </editor-fold>
 
   private void loadConfiguration() {
     Path configurationFile = this.getConfigurationPath();
+    Path legacyConfigurationFile = this.getLegacyConfigurationPath();
 
     logger.info("Application configuration file: %s", configurationFile.toAbsolutePath());
 
-    if (Files.notExists(configurationFile)) {
+    Map<String, String> configuration;
+    if (Files.exists(configurationFile)) {
+      try {
+        configuration = readConfiguration(configurationFile);
+      } catch (IOException ex) {
+        throw new RuntimeException(
+            "Could not load application configuration file: " + ex.getMessage(), ex);
+      }
+    } else if (Files.exists(legacyConfigurationFile)) {
+      configuration = this.migrateLegacyConfiguration(legacyConfigurationFile);
+    } else {
       logger.warn("No configuration file found - Falling back to defaults");
 
+      this.allowBroadcast.set(false);
       this.allowSynchronization.set(true);
       this.display24HourTime.set(false);
       this.displayWeather.set(true);
       this.launchPortraitMode.set(false);
+      this.miniMode.set(false);
 
       this.saveConfiguration();
       return;
     }
 
-    try (InputStream inputStream = new FileInputStream(configurationFile.toFile())) {
-      this.properties.loadFromXML(inputStream);
-    } catch (IOException ex) {
-      throw new RuntimeException(
-          "Could not load application configuration file: " + ex.getMessage(), ex);
-    }
-
+    this.allowBroadcast
+        .set(Boolean.parseBoolean(configuration.getOrDefault("allow-broadcast", "false")));
     this.allowSynchronization
-        .set(Boolean.valueOf(this.properties.getProperty("allow-synchronization", "true")));
+        .set(Boolean.parseBoolean(configuration.getOrDefault("allow-synchronization", "true")));
     this.display24HourTime
-        .set(Boolean.valueOf(this.properties.getProperty("display-24h-time", "false")));
+        .set(Boolean.parseBoolean(configuration.getOrDefault("display-24h-time", "false")));
     this.launchPortraitMode
-        .set(Boolean.valueOf(this.properties.getProperty("launch-in-portrait", "false")));
+        .set(Boolean.parseBoolean(configuration.getOrDefault("launch-in-portrait", "false")));
     this.displayWeather
-        .set(Boolean.valueOf(this.properties.getProperty("display-weather", "true")));
+        .set(Boolean.parseBoolean(configuration.getOrDefault("display-weather", "true")));
+    this.miniMode
+        .set(Boolean.parseBoolean(configuration.getOrDefault("mini-mode", "false")));
 
     logger.info("Restored previous application configuration");
   }
 
+  /**
+   * Converts a legacy (XML based) configuration file into the current format and removes the
+   * original file once the conversion has been completed successfully.
+   */
+  @Nonnull
+  private Map<String, String> migrateLegacyConfiguration(@Nonnull Path legacyConfigurationFile) {
+    logger.info("Migrating legacy configuration file %s",
+        legacyConfigurationFile.toAbsolutePath());
+
+    Properties properties = new Properties();
+    try (InputStream inputStream = Files.newInputStream(legacyConfigurationFile)) {
+      properties.loadFromXML(inputStream);
+    } catch (IOException ex) {
+      throw new RuntimeException(
+          "Could not load legacy application configuration file: " + ex.getMessage(), ex);
+    }
+
+    Map<String, String> configuration = new LinkedHashMap<>();
+    properties.stringPropertyNames()
+        .forEach((key) -> configuration.put(key, properties.getProperty(key)));
+
+    try {
+      this.writeConfiguration(configuration);
+      Files.delete(legacyConfigurationFile);
+    } catch (IOException ex) {
+      logger.error("Could not migrate legacy configuration file: " + ex.getMessage(), ex);
+    }
+
+    return configuration;
+  }
+
+  /**
+   * <p>Reads a configuration file.</p>
+   *
+   * <p>Configuration files consist of a format version declaration followed by an arbitrary
+   * number of {@code key=value} pairs (one per line). Empty lines and lines starting with {@code
+   * #} are ignored.</p>
+   */
+  @Nonnull
+  private static Map<String, String> readConfiguration(@Nonnull Path file) throws IOException {
+    Map<String, String> configuration = new LinkedHashMap<>();
+
+    try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      String line;
+
+      while ((line = reader.readLine()) != null) {
+        line = line.trim();
+
+        if (line.isEmpty() || line.charAt(0) == '#') {
+          continue;
+        }
+
+        int separatorIndex = line.indexOf('=');
+        if (separatorIndex == -1) {
+          logger.warn("Ignoring malformed configuration line: %s", line);
+          continue;
+        }
+
+        configuration.put(line.substring(0, separatorIndex).trim(),
+            line.substring(separatorIndex + 1).trim());
+      }
+    }
+
+    String version = configuration.remove(VERSION_KEY);
+    if (version == null) {
+      throw new IOException("Missing format version");
+    }
+
+    try {
+      if (Integer.parseInt(version) > CONFIGURATION_VERSION) {
+        logger.warn("Configuration file has been written by a newer version (format %s) - "
+            + "Unknown options will be discarded", version);
+      }
+    } catch (NumberFormatException ex) {
+      throw new IOException("Illegal format version: " + version, ex);
+    }
+
+    return configuration;
+  }
+
+  /**
+   * <p>Schedules the current configuration to be written to disk.</p>
+   *
+   * <p>Changes are collected for a short period of time before the configuration is written in
+   * order to coalesce bursts of changes into a single write. The write itself is performed on a
+   * dedicated thread.</p>
+   */
   private void saveConfiguration() {
-    logger.info("Writing configuration file to disk");
+    Map<String, String> configuration = new LinkedHashMap<>();
+    configuration.put("allow-broadcast", Boolean.toString(this.isAllowBroadcast()));
+    configuration
+        .put("allow-synchronization", Boolean.toString(this.isAllowSynchronization()));
+    configuration.put("display-24h-time", Boolean.toString(this.isDisplay24HourTime()));
+    configuration.put("launch-in-portrait", Boolean.toString(this.isLaunchPortraitMode()));
+    configuration.put("display-weather", Boolean.toString(this.isDisplayWeather()));
+    configuration.put("mini-mode", Boolean.toString(this.isMiniMode()));
+
+    synchronized (this.persistenceLock) {
+      boolean scheduled = this.pendingConfiguration != null;
+      this.pendingConfiguration = configuration;
+
+      if (!scheduled) {
+        this.persistenceExecutor
+            .schedule(this::writePendingConfiguration, PERSISTENCE_DELAY, TimeUnit.MILLISECONDS);
+      }
+    }
+  }
 
-    this.properties.clear();
-    this.properties
-        .setProperty("allow-synchronization", Boolean.toString(this.isAllowSynchronization()));
-    this.properties.setProperty("display-24h-time", Boolean.toString(this.isDisplay24HourTime()));
-    this.properties
-        .setProperty("launch-in-portrait", Boolean.toString(this.isLaunchPortraitMode()));
-    this.properties.setProperty("display-weather", Boolean.toString(this.isDisplayWeather()));
+  /**
+   * Writes all pending configuration changes to disk immediately and waits for the write to
+   * complete.
+   */
+  public void flush() {
+    try {
+      this.persistenceExecutor.submit(this::writePendingConfiguration).get();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException ex) {
+      logger.error("Could not flush application configuration: " + ex.getMessage(), ex);
+    }
+  }
 
-    try (OutputStream outputStream = new FileOutputStream(this.getConfigurationPath().toFile())) {
-      this.properties.storeToXML(outputStream, "MineClock Configuration File - DO NOT EDIT");
+  /**
+   * Writes the most recent configuration snapshot (if any) to disk.
+   */
+  private void writePendingConfiguration() {
+    Map<String, String> configuration;
+
+    synchronized (this.persistenceLock) {
+      configuration = this.pendingConfiguration;
+      this.pendingConfiguration = null;
+    }
+
+    if (configuration == null) {
+      return;
+    }
+
+    try {
+      this.writeConfiguration(configuration);
     } catch (IOException ex) {
-      throw new RuntimeException("Could not store application configuration: " + ex.getMessage(),
-          ex);
+      logger.error("Could not store application configuration: " + ex.getMessage(), ex);
+    }
+  }
+
+  /**
+   * <p>Writes a configuration to disk.</p>
+   *
+   * <p>The configuration is written to a temporary file first and atomically moved to its final
+   * location in order to never leave a truncated configuration file behind.</p>
+   */
+  private void writeConfiguration(@Nonnull Map<String, String> configuration)
+      throws IOException {
+    logger.info("Writing configuration file to disk");
+
+    Object diagnosticHandle = Diagnostics.beginConfigurationWrite();
+    Path configurationFile = this.getConfigurationPath();
+    Path temporaryFile = Files
+        .createTempFile(configurationFile.getParent(), "application", ".cfg.tmp");
+
+    try {
+      try (BufferedWriter writer = Files
+          .newBufferedWriter(temporaryFile, StandardCharsets.UTF_8)) {
+        writer.write("# MineClock Configuration File - DO NOT EDIT");
+        writer.newLine();
+        writer.write(VERSION_KEY + "=" + CONFIGURATION_VERSION);
+        writer.newLine();
+
+        for (Map.Entry<String, String> entry : configuration.entrySet()) {
+          writer.write(entry.getKey() + "=" + entry.getValue());
+          writer.newLine();
+        }
+      }
+
+      try {
+        Files.move(temporaryFile, configurationFile, StandardCopyOption.ATOMIC_MOVE,
+            StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException ex) {
+        Files.move(temporaryFile, configurationFile, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(temporaryFile);
     }
+
+    Diagnostics.commitConfigurationWrite(diagnosticHandle, configurationFile.toString(),
+        configuration.size());
   }
 
   /**
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tv.dotstart.minecraft.clock.service;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.inject.Singleton;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import tv.dotstart.minecraft.clock.MineClockApplication;
+
+/**
+ * <p>Persists the most recently received world state in order to permit the application to
+ * resume displaying the correct time immediately after a restart.</p>
+ *
+ * <p>The state is kept within a small memory mapped file and is thus updated without issuing any
+ * system calls. The file is invalidated while it is being written in order to never restore a
+ * partially written state.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+@Singleton
+public class WorldStateStore {
+
+  private static final Logger logger = LogManager.getLogger(WorldStateStore.class);
+
+  private static final int MAGIC_NUMBER = 0x4D435353; // "MCSS"
+
+  private static final int MAGIC_NUMBER_OFFSET = 0;
+  private static final int FLAGS_OFFSET = 4;
+  private static final int TIMESTAMP_OFFSET = 8;
+  private static final int TICK_RATE_OFFSET = 16;
+  private static final int TICKS_OFFSET = 24;
+  private static final int SIZE = 32;
+
+  private static final int FLAG_PAUSED = 1;
+  private static final int FLAG_RAINING = 2;
+
+  private final MappedByteBuffer buffer;
+
+  public WorldStateStore() {
+    Path file = MineClockApplication.getApplicationDirectory().resolve("state.bin");
+    MappedByteBuffer buffer = null;
+
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+        StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      buffer = channel.map(MapMode.READ_WRITE, 0, SIZE);
+    } catch (IOException ex) {
+      logger.warn("Could not map world state file - State will not be persisted: "
+          + ex.getMessage(), ex);
+    }
+
+    this.buffer = buffer;
+  }
+
+  /**
+   * Retrieves the most recently persisted state.
+   *
+   * @return a snapshot or an empty optional (if no valid state has been persisted yet).
+   */
+  @Nonnull
+  public Optional<Snapshot> load() {
+    if (this.buffer == null || this.buffer.getInt(MAGIC_NUMBER_OFFSET) != MAGIC_NUMBER) {
+      return Optional.empty();
+    }
+
+    int flags = this.buffer.getInt(FLAGS_OFFSET);
+    return Optional.of(new Snapshot(
+        this.buffer.getLong(TIMESTAMP_OFFSET),
+        this.buffer.getLong(TICKS_OFFSET),
+        this.buffer.getDouble(TICK_RATE_OFFSET),
+        (flags & FLAG_PAUSED) != 0,
+        (flags & FLAG_RAINING) != 0));
+  }
+
+  /**
+   * Persists a world state which has been observed just now.
+   *
+   * @param ticks the observed world time.
+   * @param tickRate the estimated tick rate of the world (in ticks per second).
+   * @param paused true if the world is paused, false otherwise.
+   * @param raining true if it is raining, false otherwise.
+   */
+  public void save(long ticks, @Nonnegative double tickRate, boolean paused, boolean raining) {
+    if (this.buffer == null) {
+      return;
+    }
+
+    int flags = 0;
+    if (paused) {
+      flags |= FLAG_PAUSED;
+    }
+    if (raining) {
+      flags |= FLAG_RAINING;
+    }
+
+    this.buffer.putInt(MAGIC_NUMBER_OFFSET, 0);
+    this.buffer.putInt(FLAGS_OFFSET, flags);
+    this.buffer.putLong(TIMESTAMP_OFFSET, System.currentTimeMillis());
+    this.buffer.putDouble(TICK_RATE_OFFSET, tickRate);
+    this.buffer.putLong(TICKS_OFFSET, ticks);
+    this.buffer.putInt(MAGIC_NUMBER_OFFSET, MAGIC_NUMBER);
+  }
+
+  /**
+   * Represents a persisted world state.
+   */
+  public static final class Snapshot {
+
+    private final long timestamp;
+    private final long ticks;
+    private final double tickRate;
+    private final boolean paused;
+    private final boolean raining;
+
+    private Snapshot(long timestamp, long ticks, double tickRate, boolean paused,
+        boolean raining) {
+      this.timestamp = timestamp;
+      this.ticks = ticks;
+      this.tickRate = tickRate;
+      this.paused = paused;
+      this.raining = raining;
+    }
+
+    /**
+     * Retrieves the wall clock time (in milliseconds since the epoch) at which this state has been
+     * observed.
+     */
+    public long getTimestamp() {
+      return this.timestamp;
+    }
+
+    /**
+     * Retrieves the amount of milliseconds which have passed since this state has been observed.
+     */
+    public long getAge() {
+      return System.currentTimeMillis() - this.timestamp;
+    }
+
+    public long getTicks() {
+      return this.ticks;
+    }
+
+    /**
+     * Extrapolates the world time based on the time which has passed since this state has been
+     * observed.
+     *
+     * @return an absolute world time in ticks.
+     */
+    public long getExtrapolatedTicks() {
+      if (this.paused) {
+        return this.ticks;
+      }
+
+      return this.ticks + (long) (Math.max(0, this.getAge()) * this.tickRate / 1000);
+    }
+
+    public double getTickRate() {
+      return this.tickRate;
+    }
+
+    public boolean isPaused() {
+      return this.paused;
+    }
+
+    public boolean isRaining() {
+      return this.raining;
+    }
+  }
+}
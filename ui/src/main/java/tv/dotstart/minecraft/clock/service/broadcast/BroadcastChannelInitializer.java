@@ -0,0 +1,62 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tv.dotstart.minecraft.clock.service.broadcast;
+
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.websocketx.WebSocketServerProtocolHandler;
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+
+/**
+ * Handles the initialization of channels accepted by the broadcast server.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+@Singleton
+public class BroadcastChannelInitializer extends ChannelInitializer<SocketChannel> {
+
+  /**
+   * Defines the maximum permitted size of incoming requests (overlays merely issue simple GET
+   * requests).
+   */
+  private static final int MAXIMUM_REQUEST_SIZE = 8192;
+
+  private final Provider<BroadcastRequestHandler> broadcastRequestHandlerProvider;
+
+  @Inject
+  public BroadcastChannelInitializer(
+      @Nonnull Provider<BroadcastRequestHandler> broadcastRequestHandlerProvider) {
+    this.broadcastRequestHandlerProvider = broadcastRequestHandlerProvider;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected void initChannel(@Nonnull SocketChannel ch) throws Exception {
+    ch.pipeline()
+        .addLast(new HttpServerCodec())
+        .addLast(new HttpObjectAggregator(MAXIMUM_REQUEST_SIZE))
+        .addLast(new WebSocketServerProtocolHandler(WorldStateBroadcastServer.WEB_SOCKET_PATH))
+        .addLast(this.broadcastRequestHandlerProvider.get());
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tv.dotstart.minecraft.clock.service.broadcast;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.websocketx.WebSocketServerProtocolHandler.HandshakeComplete;
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Handles requests to the broadcast server which have not been processed by the WebSocket
+ * protocol handler (e.g. event stream subscriptions and invalid requests).
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class BroadcastRequestHandler extends SimpleChannelInboundHandler<Object> {
+
+  private static final Logger logger = LogManager.getLogger(BroadcastRequestHandler.class);
+  private final WorldStateBroadcaster broadcaster;
+
+  @Inject
+  public BroadcastRequestHandler(@Nonnull WorldStateBroadcaster broadcaster) {
+    this.broadcaster = broadcaster;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected void channelRead0(@Nonnull ChannelHandlerContext ctx, @Nonnull Object msg) {
+    // frames sent by WebSocket clients are of no interest and are simply discarded
+    if (!(msg instanceof FullHttpRequest)) {
+      return;
+    }
+
+    FullHttpRequest request = (FullHttpRequest) msg;
+    if (request.method() != HttpMethod.GET
+        || !WorldStateBroadcastServer.EVENT_STREAM_PATH.equals(request.uri())) {
+      HttpResponseStatus status = request.method() == HttpMethod.GET
+          ? HttpResponseStatus.NOT_FOUND : HttpResponseStatus.METHOD_NOT_ALLOWED;
+
+      ctx.writeAndFlush(new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, status,
+          Unpooled.EMPTY_BUFFER))
+          .addListener(ChannelFutureListener.CLOSE);
+      return;
+    }
+
+    HttpResponse response = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+    response.headers()
+        .set(HttpHeaderNames.CONTENT_TYPE, "text/event-stream; charset=utf-8")
+        .set(HttpHeaderNames.CACHE_CONTROL, HttpHeaderValues.NO_CACHE)
+        .set(HttpHeaderNames.ACCESS_CONTROL_ALLOW_ORIGIN, "*");
+    HttpUtil.setTransferEncodingChunked(response, true);
+
+    ctx.writeAndFlush(response);
+    this.broadcaster.addEventStream(ctx.channel());
+
+    logger.debug("Accepted event stream subscriber {}", ctx.channel().remoteAddress());
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void userEventTriggered(@Nonnull ChannelHandlerContext ctx, @Nonnull Object evt)
+      throws Exception {
+    if (evt instanceof HandshakeComplete) {
+      this.broadcaster.addWebSocket(ctx.channel());
+      logger.debug("Accepted WebSocket subscriber {}", ctx.channel().remoteAddress());
+    }
+
+    super.userEventTriggered(ctx, evt);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void exceptionCaught(@Nonnull ChannelHandlerContext ctx, @Nonnull Throwable cause) {
+    logger.debug("Closing broadcast subscriber due to error: " + cause.getMessage(), cause);
+    ctx.close();
+  }
+}
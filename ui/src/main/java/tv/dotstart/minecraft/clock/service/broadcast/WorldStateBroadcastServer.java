@@ -0,0 +1,182 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tv.dotstart.minecraft.clock.service.broadcast;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.util.Unbox;
+import tv.dotstart.minecraft.clock.service.ConfigurationService;
+import tv.dotstart.minecraft.clock.service.event.WaitStrategy;
+import tv.dotstart.minecraft.clock.service.event.WorldStateEventBus;
+
+/**
+ * <p>Provides a local HTTP server which streams world state updates to browser based overlays
+ * (such as OBS browser sources).</p>
+ *
+ * <p>Clients may subscribe via Server-Sent Events ({@code GET /events}) or WebSocket ({@code
+ * /ws}). Each update is delivered as a JSON object consisting of the world time (in ticks) as well
+ * as the paused and raining flags. The server is bound to the loopback interface only and is
+ * disabled unless explicitly enabled by the user.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+@Singleton
+public class WorldStateBroadcastServer {
+
+  /**
+   * Defines the standard port on which the server accepts overlay subscriptions.
+   */
+  public static final int DEFAULT_PORT = 52263;
+  public static final String EVENT_STREAM_PATH = "/events";
+  public static final String WEB_SOCKET_PATH = "/ws";
+
+  /**
+   * Defines the amount of outbound data (in bytes) a subscriber may buffer before updates are no
+   * longer written to it (and the amount it has to drain to before receiving updates again).
+   */
+  private static final int WRITE_BUFFER_HIGH_WATER_MARK = 32 * 1024;
+  private static final int WRITE_BUFFER_LOW_WATER_MARK = 8 * 1024;
+
+  private static final Logger logger = LogManager.getLogger(WorldStateBroadcastServer.class);
+  private final ConfigurationService configurationService;
+  private final WorldStateEventBus eventBus;
+  private final WorldStateBroadcaster broadcaster;
+  private final BroadcastChannelInitializer broadcastChannelInitializer;
+  private final Lock lock = new ReentrantLock();
+  private Channel channel;
+  private NioEventLoopGroup eventLoopGroup;
+  private Thread dispatcher;
+
+  @Inject
+  public WorldStateBroadcastServer(
+      @Nonnull ConfigurationService configurationService,
+      @Nonnull WorldStateEventBus eventBus,
+      @Nonnull WorldStateBroadcaster broadcaster,
+      @Nonnull BroadcastChannelInitializer broadcastChannelInitializer) {
+    this.configurationService = configurationService;
+    this.eventBus = eventBus;
+    this.broadcaster = broadcaster;
+    this.broadcastChannelInitializer = broadcastChannelInitializer;
+  }
+
+  /**
+   * Evaluates whether to start the server upon startup and starts or stops it whenever the
+   * respective setting changes.
+   */
+  public void postStartup() {
+    this.configurationService.allowBroadcastProperty().addListener(
+        (observable, oldValue, newValue) -> {
+          if (newValue) {
+            this.start();
+          } else {
+            this.stop();
+          }
+        });
+
+    if (this.configurationService.isAllowBroadcast()) {
+      CompletableFuture.runAsync(this::start);
+    }
+  }
+
+  /**
+   * Starts accepting overlay subscriptions on the standard port.
+   */
+  public void start() {
+    this.lock.lock();
+
+    try {
+      if (this.channel != null) {
+        return;
+      }
+
+      logger.info("Initializing broadcast server ...");
+      this.eventLoopGroup = new NioEventLoopGroup(1);
+
+      ServerBootstrap bootstrap = new ServerBootstrap()
+          .group(this.eventLoopGroup)
+          .channel(NioServerSocketChannel.class)
+          .childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(
+              WRITE_BUFFER_LOW_WATER_MARK, WRITE_BUFFER_HIGH_WATER_MARK))
+          .childHandler(this.broadcastChannelInitializer);
+
+      logger.info("Binding to 127.0.0.1:{}", Unbox.box(DEFAULT_PORT));
+      ChannelFuture future = bootstrap.bind("127.0.0.1", DEFAULT_PORT).awaitUninterruptibly();
+
+      if (!future.isSuccess()) {
+        Throwable cause = future.cause();
+
+        if (cause == null) {
+          cause = new IllegalStateException("Unknown Error");
+        }
+
+        logger.error("Failed to start broadcast server: " + cause.getMessage(), cause);
+        this.eventLoopGroup.shutdownGracefully().awaitUninterruptibly();
+        return;
+      }
+
+      this.channel = future.channel();
+      this.dispatcher = this.eventBus
+          .subscribe("world-state-broadcast", WaitStrategy.BLOCKING, this.broadcaster::broadcast);
+
+      logger.info("Successfully started broadcast server");
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Disconnects all subscribers and stops accepting new subscriptions.
+   */
+  public void stop() {
+    this.lock.lock();
+
+    try {
+      if (this.channel == null) {
+        return;
+      }
+
+      logger.info("Shutting down broadcast server ...");
+      this.dispatcher.interrupt();
+      this.dispatcher.join();
+
+      this.channel.close().awaitUninterruptibly();
+      this.broadcaster.close();
+      this.eventLoopGroup.shutdownGracefully().awaitUninterruptibly();
+
+      this.channel = null;
+      this.dispatcher = null;
+      logger.info("Broadcast server has been shut down");
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    } finally {
+      this.lock.unlock();
+    }
+  }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tv.dotstart.minecraft.clock.service.broadcast;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.group.ChannelGroup;
+import io.netty.channel.group.ChannelMatcher;
+import io.netty.channel.group.DefaultChannelGroup;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
+import io.netty.util.CharsetUtil;
+import io.netty.util.concurrent.GlobalEventExecutor;
+import javax.annotation.Nonnull;
+import javax.inject.Singleton;
+import tv.dotstart.minecraft.clock.service.event.WorldStateEvent;
+
+/**
+ * <p>Encodes world state updates and distributes them to all connected overlay clients.</p>
+ *
+ * <p>Every update is encoded exactly once and the resulting buffer is shared between all
+ * subscribers (regardless of whether they are connected via Server-Sent Events or WebSocket).
+ * Subscribers which are unable to keep up (e.g. whose outbound buffer exceeds its high water mark)
+ * skip updates until their buffer has drained since only the most recent state is of interest to
+ * overlays.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+@Singleton
+public class WorldStateBroadcaster {
+
+  private static final ByteBuf EVENT_PREFIX = Unpooled.unreleasableBuffer(
+      Unpooled.copiedBuffer("data: ", CharsetUtil.UTF_8));
+  private static final ByteBuf EVENT_SUFFIX = Unpooled.unreleasableBuffer(
+      Unpooled.copiedBuffer("\n\n", CharsetUtil.UTF_8));
+
+  /**
+   * Selects all subscribers which are currently able to accept further updates.
+   */
+  private static final ChannelMatcher WRITABLE = Channel::isWritable;
+
+  private final ChannelGroup eventStreams = new DefaultChannelGroup("event-streams",
+      GlobalEventExecutor.INSTANCE);
+  private final ChannelGroup webSockets = new DefaultChannelGroup("web-sockets",
+      GlobalEventExecutor.INSTANCE);
+  private final StringBuilder builder = new StringBuilder();
+  private ByteBuf state;
+
+  /**
+   * Registers a channel which receives updates as Server-Sent Events (the response headers are
+   * expected to have been written already).
+   */
+  public synchronized void addEventStream(@Nonnull Channel channel) {
+    if (this.state != null) {
+      channel.writeAndFlush(createEvent(this.state.retainedDuplicate()));
+    }
+
+    this.eventStreams.add(channel);
+  }
+
+  /**
+   * Registers a channel which receives updates as WebSocket text frames (the handshake is
+   * expected to have been completed already).
+   */
+  public synchronized void addWebSocket(@Nonnull Channel channel) {
+    if (this.state != null) {
+      channel.writeAndFlush(new TextWebSocketFrame(this.state.retainedDuplicate()));
+    }
+
+    this.webSockets.add(channel);
+  }
+
+  /**
+   * Retrieves the total amount of connected subscribers.
+   */
+  public int getSubscriberCount() {
+    return this.eventStreams.size() + this.webSockets.size();
+  }
+
+  /**
+   * Encodes the passed update and writes it to all writable subscribers.
+   */
+  public synchronized void broadcast(@Nonnull WorldStateEvent event) {
+    this.builder.setLength(0);
+    this.builder
+        .append("{\"time\":").append(event.getTime())
+        .append(",\"paused\":").append(event.isPaused())
+        .append(",\"raining\":").append(event.isRaining())
+        .append('}');
+
+    if (this.state != null) {
+      this.state.release();
+    }
+    this.state = ByteBufUtil.writeUtf8(ByteBufAllocator.DEFAULT, this.builder);
+
+    // channel groups write a duplicate of the message to each matching channel and release the
+    // original once all writes have been submitted
+    if (!this.eventStreams.isEmpty()) {
+      this.eventStreams.writeAndFlush(createEvent(this.state.retainedDuplicate()), WRITABLE);
+    }
+    if (!this.webSockets.isEmpty()) {
+      this.webSockets
+          .writeAndFlush(new TextWebSocketFrame(this.state.retainedDuplicate()), WRITABLE);
+    }
+  }
+
+  /**
+   * Disconnects all subscribers and discards the most recent state.
+   */
+  public synchronized void close() {
+    this.eventStreams.close().awaitUninterruptibly();
+    this.webSockets.close().awaitUninterruptibly();
+
+    if (this.state != null) {
+      this.state.release();
+      this.state = null;
+    }
+  }
+
+  /**
+   * Wraps an encoded update into a Server-Sent Event.
+   */
+  @Nonnull
+  private static DefaultHttpContent createEvent(@Nonnull ByteBuf state) {
+    return new DefaultHttpContent(
+        Unpooled.wrappedBuffer(EVENT_PREFIX.duplicate(), state, EVENT_SUFFIX.duplicate()));
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tv.dotstart.minecraft.clock.service.event;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import javax.annotation.Nonnegative;
+
+/**
+ * <p>Defines how a consumer waits for new events to be published.</p>
+ *
+ * <p>Most strategies rely on polling and merely differ in the trade off between latency and CPU
+ * usage. The {@link #BLOCKING} strategy is the only exception since its consumers are woken by the
+ * publisher of the next event instead.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+@FunctionalInterface
+public interface WaitStrategy {
+
+  /**
+   * Spins without ever relinquishing the CPU (lowest latency, occupies an entire core).
+   */
+  WaitStrategy BUSY_SPIN = (attempt) -> {
+  };
+
+  /**
+   * Yields to other threads between attempts.
+   */
+  WaitStrategy YIELDING = (attempt) -> Thread.yield();
+
+  /**
+   * Spins and yields briefly before backing off to sleeping for up to a millisecond (suitable for
+   * consumers which are not latency sensitive).
+   */
+  WaitStrategy SLEEPING = (attempt) -> {
+    if (attempt < 100) {
+      Thread.yield();
+    } else {
+      LockSupport.parkNanos(Math.min(TimeUnit.MILLISECONDS.toNanos(1), 1000L * (attempt - 99)));
+    }
+  };
+
+  /**
+   * Parks the consumer until the next event is published (suitable for consumers which wait for
+   * extended periods of time and thus should not wake up unless there is actual work to do).
+   */
+  WaitStrategy BLOCKING = new WaitStrategy() {
+
+    /**
+     * Defines the maximum time a consumer remains parked before checking for events on its own
+     * (e.g. in order to eventually observe an interrupt).
+     */
+    private final long timeout = TimeUnit.SECONDS.toNanos(1);
+
+    @Override
+    public void idle(@Nonnegative int attempt) {
+      LockSupport.parkNanos(this, this.timeout);
+    }
+
+    @Override
+    public boolean isSignalled() {
+      return true;
+    }
+  };
+
+  /**
+   * Waits before the next attempt to read an event.
+   *
+   * @param attempt the amount of consecutive attempts which did not yield an event.
+   */
+  void idle(@Nonnegative int attempt);
+
+  /**
+   * Evaluates whether consumers which use this strategy expect to be unparked when a new event is
+   * published.
+   */
+  default boolean isSignalled() {
+    return false;
+  }
+}
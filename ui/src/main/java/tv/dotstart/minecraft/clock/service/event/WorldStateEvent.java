@@ -0,0 +1,101 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tv.dotstart.minecraft.clock.service.event;
+
+import javax.annotation.Nonnull;
+
+/**
+ * <p>Represents a single world state update which has been published to the {@link
+ * WorldStateEventBus}.</p>
+ *
+ * <p>Instances are owned by their respective consumer and are overwritten each time a new event
+ * is read from the bus in order to avoid allocations on the consumer side.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public final class WorldStateEvent {
+
+  long sequence;
+  long timestamp;
+  int source;
+  int time;
+  boolean paused;
+  boolean raining;
+  double tickRate;
+
+  /**
+   * Replaces the contents of this event with the contents of another event.
+   */
+  public void copyFrom(@Nonnull WorldStateEvent event) {
+    this.sequence = event.sequence;
+    this.timestamp = event.timestamp;
+    this.source = event.source;
+    this.time = event.time;
+    this.paused = event.paused;
+    this.raining = event.raining;
+    this.tickRate = event.tickRate;
+  }
+
+  /**
+   * Retrieves the position of this event within the stream of published events.
+   */
+  public long getSequence() {
+    return this.sequence;
+  }
+
+  /**
+   * Retrieves the monotonic time (as returned by {@link System#nanoTime()}) at which this event
+   * has been received.
+   */
+  public long getTimestamp() {
+    return this.timestamp;
+  }
+
+  /**
+   * Retrieves the identifier of the game instance which reported this event.
+   *
+   * @see WorldStateSources
+   */
+  public int getSource() {
+    return this.source;
+  }
+
+  /**
+   * Retrieves the world time (in ticks).
+   */
+  public int getTime() {
+    return this.time;
+  }
+
+  public boolean isPaused() {
+    return this.paused;
+  }
+
+  public boolean isRaining() {
+    return this.raining;
+  }
+
+  /**
+   * Retrieves the tick rate (in ticks per second) which has been estimated from the samples that
+   * were reported along with this event.
+   *
+   * @return a tick rate or {@link Double#NaN} if the game did not report any samples.
+   */
+  public double getTickRate() {
+    return this.tickRate;
+  }
+}
@@ -0,0 +1,324 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tv.dotstart.minecraft.clock.service.event;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.inject.Singleton;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.util.Unbox;
+
+/**
+ * <p>Distributes world state updates to an arbitrary number of consumers.</p>
+ *
+ * <p>Events are written into a pre-allocated ring buffer of primitive slots exactly once. Each
+ * consumer tracks its own position within the buffer and reads at its own pace using its own
+ * {@link WaitStrategy}. Publishers never wait for consumers and merely unpark those consumers which
+ * are currently blocked using {@link WaitStrategy#BLOCKING}. Thus the cost of publishing an event
+ * does not depend on the amount of polling consumers. Consumers which fall behind by more than the
+ * buffer capacity skip the events which have been overwritten in the meantime.</p>
+ *
+ * <p>Slots are guarded by their sequence number: A publisher invalidates the slot before writing
+ * and stores the sequence once the event is complete, consumers validate the sequence before and
+ * after reading a slot and retry when it has been overwritten while reading.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+@Singleton
+public class WorldStateEventBus {
+
+  private static final Logger logger = LogManager.getLogger(WorldStateEventBus.class);
+
+  /**
+   * Defines the amount of slots within the ring buffer (must be a power of two).
+   */
+  private static final int CAPACITY = 1024;
+  private static final int MASK = CAPACITY - 1;
+
+  private static final long FLAG_PAUSED = 1L << 16;
+  private static final long FLAG_RAINING = 1L << 17;
+  private static final long TIME_MASK = 0xFFFF;
+  private static final int SOURCE_SHIFT = 32;
+
+  private final AtomicLong cursor = new AtomicLong();
+  private final AtomicLongArray sequences = new AtomicLongArray(CAPACITY);
+  private final AtomicLongArray timestamps = new AtomicLongArray(CAPACITY);
+  private final AtomicLongArray states = new AtomicLongArray(CAPACITY);
+  private final AtomicLongArray tickRates = new AtomicLongArray(CAPACITY);
+
+  /**
+   * Stores the threads which are currently blocked while waiting for the next event (the array is
+   * replaced whenever a thread begins or stops waiting in order to permit publishers to iterate it
+   * without locking).
+   */
+  private volatile Thread[] waiters = new Thread[0];
+
+  public WorldStateEventBus() {
+    for (int i = 0; i < CAPACITY; ++i) {
+      this.sequences.set(i, -1);
+    }
+  }
+
+  /**
+   * Publishes a world state update.
+   *
+   * <p>This method may be invoked from any thread and never blocks.</p>
+   *
+   * @param timestamp the monotonic time at which the update has been received.
+   * @param source an identifier of the game instance which reported the update.
+   * @param time a world time (in ticks).
+   * @param paused true if the game is paused, false otherwise.
+   * @param raining true if it is raining, false otherwise.
+   * @param tickRate a tick rate (in ticks per second) which has been reported along with the
+   * update or {@link Double#NaN} if no tick rate is known.
+   */
+  public void publish(long timestamp, int source, @Nonnegative int time, boolean paused,
+      boolean raining, double tickRate) {
+    long sequence = this.cursor.getAndIncrement();
+    int index = (int) sequence & MASK;
+
+    long state = ((long) source << SOURCE_SHIFT) | (time & TIME_MASK);
+    if (paused) {
+      state |= FLAG_PAUSED;
+    }
+    if (raining) {
+      state |= FLAG_RAINING;
+    }
+
+    this.sequences.lazySet(index, -1);
+    this.timestamps.lazySet(index, timestamp);
+    this.states.lazySet(index, state);
+    this.tickRates.lazySet(index, Double.doubleToRawLongBits(tickRate));
+
+    // the sequence is published with a full fence in order to guarantee that either the waiters
+    // below include a consumer which is about to block or the consumer observes the event when
+    // checking for events after registering itself
+    this.sequences.set(index, sequence);
+
+    for (Thread waiter : this.waiters) {
+      LockSupport.unpark(waiter);
+    }
+  }
+
+  /**
+   * Registers a thread which is about to block while waiting for the next event.
+   */
+  private synchronized void addWaiter(@Nonnull Thread thread) {
+    Thread[] waiters = Arrays.copyOf(this.waiters, this.waiters.length + 1);
+    waiters[waiters.length - 1] = thread;
+    this.waiters = waiters;
+  }
+
+  /**
+   * Removes a previously registered waiting thread.
+   */
+  private synchronized void removeWaiter(@Nonnull Thread thread) {
+    Thread[] waiters = new Thread[this.waiters.length - 1];
+    int i = 0;
+
+    for (Thread waiter : this.waiters) {
+      if (waiter != thread) {
+        waiters[i++] = waiter;
+      }
+    }
+
+    this.waiters = waiters;
+  }
+
+  /**
+   * Creates a new subscription which receives all events published from now on.
+   */
+  @Nonnull
+  public Subscription subscribe() {
+    return new Subscription(this.cursor.get());
+  }
+
+  /**
+   * Creates a new subscription which is consumed by a dedicated daemon thread.
+   *
+   * @param name a thread name.
+   * @param waitStrategy the strategy used while no events are available.
+   * @param consumer a consumer which is invoked for every event (the passed event instance is
+   * reused).
+   * @return the consuming thread (which terminates once interrupted).
+   */
+  @Nonnull
+  public Thread subscribe(@Nonnull String name, @Nonnull WaitStrategy waitStrategy,
+      @Nonnull Consumer<WorldStateEvent> consumer) {
+    Subscription subscription = this.subscribe();
+
+    Thread thread = new Thread(() -> {
+      WorldStateEvent event = new WorldStateEvent();
+      int attempt = 0;
+
+      while (!Thread.currentThread().isInterrupted()) {
+        if (subscription.poll(event) || subscription.await(event, waitStrategy, attempt)) {
+          consumer.accept(event);
+          attempt = 0;
+        } else if (attempt != Integer.MAX_VALUE) {
+          ++attempt;
+        }
+      }
+    }, name);
+    thread.setDaemon(true);
+    thread.start();
+
+    return thread;
+  }
+
+  /**
+   * Represents the position of a single consumer within the event stream.
+   *
+   * <p>Subscriptions are not thread safe and are expected to be consumed by a single thread.</p>
+   */
+  public final class Subscription {
+
+    private long next;
+    private long missed;
+
+    private Subscription(long next) {
+      this.next = next;
+    }
+
+    /**
+     * Retrieves the total amount of events which have been overwritten before this subscription
+     * was able to read them.
+     */
+    public long getMissed() {
+      return this.missed;
+    }
+
+    /**
+     * Reads the next event (if any).
+     *
+     * @param event an event which is populated with the contents of the next event.
+     * @return true if an event has been read, false if no new events are available.
+     */
+    public boolean poll(@Nonnull WorldStateEvent event) {
+      WorldStateEventBus bus = WorldStateEventBus.this;
+
+      while (true) {
+        int index = (int) this.next & MASK;
+        long sequence = bus.sequences.get(index);
+
+        if (sequence < this.next) {
+          return false;
+        }
+
+        if (sequence > this.next) {
+          long skipped = Math.max(1, sequence - MASK - this.next);
+          this.missed += skipped;
+          this.next += skipped;
+
+          logger.debug("Consumer fell behind - Skipped {} events", Unbox.box(skipped));
+          continue;
+        }
+
+        long timestamp = bus.timestamps.get(index);
+        long state = bus.states.get(index);
+        long tickRate = bus.tickRates.get(index);
+
+        if (bus.sequences.get(index) != sequence) {
+          continue;
+        }
+
+        event.sequence = sequence;
+        event.timestamp = timestamp;
+        event.source = (int) (state >>> SOURCE_SHIFT);
+        event.time = (int) (state & TIME_MASK);
+        event.paused = (state & FLAG_PAUSED) != 0;
+        event.raining = (state & FLAG_RAINING) != 0;
+        event.tickRate = Double.longBitsToDouble(tickRate);
+
+        ++this.next;
+        return true;
+      }
+    }
+
+    /**
+     * Waits using the specified strategy and attempts to read the next event afterwards.
+     *
+     * @param event an event which is populated with the contents of the next event.
+     * @param waitStrategy the strategy used to wait.
+     * @param attempt the amount of consecutive attempts which did not yield an event.
+     * @return true if an event has been read, false otherwise.
+     */
+    private boolean await(@Nonnull WorldStateEvent event, @Nonnull WaitStrategy waitStrategy,
+        @Nonnegative int attempt) {
+      if (!waitStrategy.isSignalled()) {
+        waitStrategy.idle(attempt);
+        return this.poll(event);
+      }
+
+      WorldStateEventBus bus = WorldStateEventBus.this;
+      Thread thread = Thread.currentThread();
+      bus.addWaiter(thread);
+
+      try {
+        // events which have been published before the registration became visible would not
+        // unpark this thread and are thus checked for once more
+        if (this.poll(event)) {
+          return true;
+        }
+
+        waitStrategy.idle(attempt);
+      } finally {
+        bus.removeWaiter(thread);
+      }
+
+      return this.poll(event);
+    }
+
+    /**
+     * Reads all pending events and retains only the most recent one.
+     *
+     * @param event an event which is populated with the contents of the most recent event.
+     * @return true if at least one event has been read, false otherwise.
+     */
+    public boolean pollLatest(@Nonnull WorldStateEvent event) {
+      boolean received = false;
+
+      while (this.poll(event)) {
+        received = true;
+      }
+
+      return received;
+    }
+
+    /**
+     * Waits for the next event using the specified strategy.
+     *
+     * @param event an event which is populated with the contents of the next event.
+     * @param waitStrategy the strategy used while no events are available.
+     */
+    public void take(@Nonnull WorldStateEvent event, @Nonnull WaitStrategy waitStrategy) {
+      int attempt = 0;
+
+      while (!this.poll(event) && !this.await(event, waitStrategy, attempt)) {
+        if (attempt != Integer.MAX_VALUE) {
+          ++attempt;
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tv.dotstart.minecraft.clock.service.event;
+
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.inject.Singleton;
+
+/**
+ * <p>Assigns compact identifiers to the game instances which report world state updates.</p>
+ *
+ * <p>Game instances are identified by the address from which their updates originate. Sources
+ * which have not reported any updates within {@link #EXPIRATION_DURATION} are released whenever a
+ * new source is encountered. Since identifiers are never reused, a game instance which reconnects
+ * from a different port (or after its source has been released) is considered a new source.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+@Singleton
+public class WorldStateSources {
+
+  /**
+   * Defines the amount of time (in nanoseconds) after which a source is considered expired when no
+   * further updates are received from it.
+   */
+  public static final long EXPIRATION_DURATION = TimeUnit.MINUTES.toNanos(1);
+
+  private final AtomicInteger nextIdentifier = new AtomicInteger();
+  private final Map<InetSocketAddress, Source> sources = new ConcurrentHashMap<>();
+  private final Map<Integer, Source> identifiers = new ConcurrentHashMap<>();
+
+  /**
+   * Retrieves the identifier of a given source (a new identifier is assigned when the source has
+   * not been encountered before or has expired since).
+   *
+   * @param address the address from which an update originates.
+   * @param timestamp the monotonic time at which the update has been received.
+   */
+  public int getIdentifier(@Nonnull InetSocketAddress address, long timestamp) {
+    // known sources are looked up directly since the mapping function captures this instance
+    // and would otherwise be allocated for every update
+    Source source = this.sources.get(address);
+
+    if (source == null) {
+      this.release(timestamp);
+      source = this.sources.computeIfAbsent(address,
+          (a) -> new Source(this.nextIdentifier.getAndIncrement(), a));
+      this.identifiers.put(source.identifier, source);
+    }
+
+    source.timestamp = timestamp;
+    return source.identifier;
+  }
+
+  /**
+   * Retrieves the address of a previously identified source.
+   *
+   * @return an address or null if no such source has been encountered or the source has expired.
+   */
+  @Nullable
+  public InetSocketAddress getAddress(int identifier) {
+    Source source = this.identifiers.get(identifier);
+    return source == null ? null : source.address;
+  }
+
+  /**
+   * Releases all sources which have expired at the specified time.
+   */
+  private void release(long now) {
+    this.sources.values().removeIf((source) -> {
+      if (now - source.timestamp <= EXPIRATION_DURATION) {
+        return false;
+      }
+
+      this.identifiers.remove(source.identifier);
+      return true;
+    });
+  }
+
+  /**
+   * Represents a single game instance.
+   */
+  private static final class Source {
+
+    private final int identifier;
+    private final InetSocketAddress address;
+    private volatile long timestamp;
+
+    private Source(int identifier, @Nonnull InetSocketAddress address) {
+      this.identifier = identifier;
+      this.address = address;
+    }
+  }
+}
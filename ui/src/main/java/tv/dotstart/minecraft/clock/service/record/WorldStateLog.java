@@ -0,0 +1,48 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tv.dotstart.minecraft.clock.service.record;
+
+/**
+ * <p>Describes the binary layout of world state logs.</p>
+ *
+ * <p>Logs begin with a fixed size header which consists of a magic number, the format version,
+ * the wall clock time (in milliseconds since the epoch) at which the recording was started and
+ * the offset at which the last complete entry ends. The end offset is updated after every entry
+ * in order to keep logs readable even when the application is terminated unexpectedly.</p>
+ *
+ * <p>Each entry consists of its arrival time (in nanoseconds relative to the start of the
+ * recording), the length of its payload as an unsigned short and the raw datagram payload.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+final class WorldStateLog {
+
+  static final int MAGIC_NUMBER = 0x4D435752; // "MCWR"
+  static final int VERSION = 1;
+
+  static final int MAGIC_NUMBER_OFFSET = 0;
+  static final int VERSION_OFFSET = 4;
+  static final int START_TIME_OFFSET = 8;
+  static final int END_OFFSET = 16;
+  static final int HEADER_SIZE = 24;
+
+  static final int ENTRY_HEADER_SIZE = 10;
+  static final int MAXIMUM_PAYLOAD_SIZE = 0xFFFF;
+
+  private WorldStateLog() {
+  }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tv.dotstart.minecraft.clock.service.record;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandler.Sharable;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.socket.DatagramPacket;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.inject.Singleton;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.util.Unbox;
+
+/**
+ * <p>Appends every datagram received by the synchronization server to a memory mapped log along
+ * with its arrival time.</p>
+ *
+ * <p>Recording is disabled unless a target file is passed via the {@code mineclock.record} system
+ * property. The raw datagram payload is recorded (instead of the decoded packet) in order to
+ * permit replaying the log through the actual decoder (see {@link WorldStateReplayer}).</p>
+ *
+ * <p>The log is mapped in chunks of fixed size. Unused space at the end of the last chunk remains
+ * part of the file and is skipped when replaying.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+@Sharable
+@Singleton
+public class WorldStateRecorder extends ChannelInboundHandlerAdapter {
+
+  private static final Logger logger = LogManager.getLogger(WorldStateRecorder.class);
+
+  /**
+   * Defines the size of the regions in which the log is mapped into memory.
+   */
+  private static final int CHUNK_SIZE = 1024 * 1024;
+
+  private final Path file;
+  private FileChannel channel;
+  private MappedByteBuffer header;
+  private MappedByteBuffer buffer;
+  private long bufferOffset;
+  private long startTimestamp;
+  private boolean failed;
+
+  public WorldStateRecorder() {
+    String file = System.getProperty("mineclock.record");
+    this.file = file == null || file.isEmpty() ? null : Paths.get(file);
+  }
+
+  /**
+   * Evaluates whether recording has been enabled for this application instance.
+   */
+  public boolean isEnabled() {
+    return this.file != null;
+  }
+
+  /**
+   * Retrieves the file to which incoming datagrams are recorded.
+   *
+   * @return a path or null (if recording is disabled).
+   */
+  @Nullable
+  public Path getFile() {
+    return this.file;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void channelRead(@Nonnull ChannelHandlerContext ctx, @Nonnull Object msg)
+      throws Exception {
+    if (msg instanceof DatagramPacket) {
+      this.append(((DatagramPacket) msg).content());
+    }
+
+    super.channelRead(ctx, msg);
+  }
+
+  /**
+   * Appends the readable contents of the supplied buffer to the log (without altering its
+   * reader index).
+   */
+  private synchronized void append(@Nonnull ByteBuf content) {
+    long timestamp = System.nanoTime();
+    int length = content.readableBytes();
+
+    if (this.failed || length > WorldStateLog.MAXIMUM_PAYLOAD_SIZE) {
+      return;
+    }
+
+    try {
+      if (this.channel == null) {
+        this.open();
+        this.startTimestamp = timestamp;
+      }
+
+      this.ensureCapacity(WorldStateLog.ENTRY_HEADER_SIZE + length);
+    } catch (IOException ex) {
+      logger.error("Could not write to world state log - Recording disabled: " + ex.getMessage(),
+          ex);
+      this.failed = true;
+      return;
+    }
+
+    this.buffer.putLong(timestamp - this.startTimestamp);
+    this.buffer.putShort((short) length);
+
+    int limit = this.buffer.limit();
+    this.buffer.limit(this.buffer.position() + length);
+    content.getBytes(content.readerIndex(), this.buffer);
+    this.buffer.limit(limit);
+
+    this.header.putLong(WorldStateLog.END_OFFSET, this.bufferOffset + this.buffer.position());
+  }
+
+  /**
+   * Opens the log file and writes its header.
+   */
+  private void open() throws IOException {
+    logger.info("Recording world state updates to {}", this.file.toAbsolutePath());
+
+    this.channel = FileChannel.open(this.file, StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ,
+        StandardOpenOption.WRITE);
+
+    this.header = this.channel.map(MapMode.READ_WRITE, 0, WorldStateLog.HEADER_SIZE);
+    this.header.putInt(WorldStateLog.MAGIC_NUMBER_OFFSET, WorldStateLog.MAGIC_NUMBER);
+    this.header.putInt(WorldStateLog.VERSION_OFFSET, WorldStateLog.VERSION);
+    this.header.putLong(WorldStateLog.START_TIME_OFFSET, System.currentTimeMillis());
+    this.header.putLong(WorldStateLog.END_OFFSET, WorldStateLog.HEADER_SIZE);
+
+    this.bufferOffset = WorldStateLog.HEADER_SIZE;
+    this.buffer = this.channel.map(MapMode.READ_WRITE, this.bufferOffset, CHUNK_SIZE);
+  }
+
+  /**
+   * Maps the next chunk of the log when the current chunk is unable to hold an entry of the
+   * specified size.
+   */
+  private void ensureCapacity(int length) throws IOException {
+    if (this.buffer.remaining() >= length) {
+      return;
+    }
+
+    this.bufferOffset += this.buffer.position();
+    this.buffer = this.channel.map(MapMode.READ_WRITE, this.bufferOffset, CHUNK_SIZE);
+  }
+
+  /**
+   * Flushes all recorded entries to disk and closes the log.
+   */
+  public synchronized void close() {
+    if (this.channel == null) {
+      return;
+    }
+
+    logger.info("Closing world state log ({} bytes)",
+        Unbox.box(this.bufferOffset + this.buffer.position()));
+
+    try {
+      this.buffer.force();
+      this.header.force();
+      this.channel.close();
+    } catch (IOException ex) {
+      logger.error("Could not close world state log: " + ex.getMessage(), ex);
+    } finally {
+      this.channel = null;
+      this.header = null;
+      this.buffer = null;
+    }
+  }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tv.dotstart.minecraft.clock.service.record;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.channel.socket.DatagramPacket;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.LockSupport;
+import javafx.application.Platform;
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.util.Unbox;
+import tv.dotstart.minecraft.clock.network.WorldStatePacketDecoder;
+import tv.dotstart.minecraft.clock.service.server.WorldStateHandler;
+import tv.dotstart.minecraft.clock.service.server.WorldStateSynchronizationServer;
+
+/**
+ * <p>Feeds a previously recorded world state log (see {@link WorldStateRecorder}) through the
+ * actual decoder and handler pipeline.</p>
+ *
+ * <p>Replaying is disabled unless a log file is passed via the {@code mineclock.replay} system
+ * property. The replay speed is controlled via the {@code mineclock.replay.speed} property which
+ * accepts either a positive multiplier (defaults to {@code 1}) or {@code max} in order to replay
+ * all entries as fast as possible.</p>
+ *
+ * <p>When the {@code mineclock.replay.exit} property is set, the application is terminated once
+ * all entries have been replayed (e.g. when the replay is used for benchmarking purposes).</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+@Singleton
+public class WorldStateReplayer {
+
+  private static final Logger logger = LogManager.getLogger(WorldStateReplayer.class);
+
+  private final Provider<WorldStateHandler> worldStateHandlerProvider;
+  private final Path file;
+  private final double speed;
+  private final boolean exitOnCompletion = Boolean.getBoolean("mineclock.replay.exit");
+
+  @Inject
+  public WorldStateReplayer(@Nonnull Provider<WorldStateHandler> worldStateHandlerProvider) {
+    this.worldStateHandlerProvider = worldStateHandlerProvider;
+
+    String file = System.getProperty("mineclock.replay");
+    this.file = file == null || file.isEmpty() ? null : Paths.get(file);
+
+    String speed = System.getProperty("mineclock.replay.speed", "1");
+    this.speed = "max".equalsIgnoreCase(speed) ? Double.POSITIVE_INFINITY
+        : Double.parseDouble(speed);
+
+    if (this.speed <= 0 || Double.isNaN(this.speed)) {
+      throw new IllegalArgumentException("Illegal replay speed: " + speed);
+    }
+  }
+
+  /**
+   * Evaluates whether a replay has been requested for this application instance.
+   */
+  public boolean isEnabled() {
+    return this.file != null;
+  }
+
+  /**
+   * Starts replaying the configured log on a background thread (if enabled).
+   */
+  public void postStartup() {
+    if (!this.isEnabled()) {
+      return;
+    }
+
+    Thread thread = new Thread(() -> {
+      this.replay();
+
+      // the application is also terminated when the log could not be replayed in order to not
+      // leave benchmark runs waiting indefinitely
+      if (this.exitOnCompletion) {
+        logger.info("Replay has ended - Shutting down");
+        Platform.exit();
+      }
+    }, "world-state-replay");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /**
+   * Replays the configured log on the calling thread.
+   */
+  private void replay() {
+    logger.info("Replaying world state log {} at {}x speed", this.file.toAbsolutePath(),
+        Unbox.box(this.speed));
+
+    MappedByteBuffer buffer;
+    try (FileChannel channel = FileChannel.open(this.file, StandardOpenOption.READ)) {
+      buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+    } catch (IOException ex) {
+      logger.error("Could not open world state log: " + ex.getMessage(), ex);
+      return;
+    }
+
+    if (buffer.capacity() < WorldStateLog.HEADER_SIZE
+        || buffer.getInt(WorldStateLog.MAGIC_NUMBER_OFFSET) != WorldStateLog.MAGIC_NUMBER) {
+      logger.error("Cannot replay {}: Not a world state log", this.file);
+      return;
+    }
+
+    int version = buffer.getInt(WorldStateLog.VERSION_OFFSET);
+    if (version != WorldStateLog.VERSION) {
+      logger.error("Cannot replay {}: Unsupported format version {}", this.file,
+          Unbox.box(version));
+      return;
+    }
+
+    long end = Math.min(buffer.getLong(WorldStateLog.END_OFFSET), buffer.capacity());
+    buffer.position(WorldStateLog.HEADER_SIZE);
+    buffer.limit((int) end);
+
+    InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(),
+        WorldStateSynchronizationServer.DEFAULT_PORT);
+    EmbeddedChannel channel = new EmbeddedChannel(new WorldStatePacketDecoder(),
+        this.worldStateHandlerProvider.get());
+
+    long startTimestamp = System.nanoTime();
+    int count = 0;
+
+    try {
+      while (buffer.remaining() >= WorldStateLog.ENTRY_HEADER_SIZE) {
+        long timestamp = buffer.getLong();
+        int length = buffer.getShort() & 0xFFFF;
+
+        if (buffer.remaining() < length) {
+          logger.warn("Encountered truncated entry - Stopping replay");
+          break;
+        }
+
+        if (!Double.isInfinite(this.speed)) {
+          long deadline = startTimestamp + (long) (timestamp / this.speed);
+          long delay;
+
+          while ((delay = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(delay);
+          }
+        }
+
+        ByteBuffer payload = buffer.slice();
+        payload.limit(length);
+        buffer.position(buffer.position() + length);
+
+        channel.writeInbound(new DatagramPacket(Unpooled.wrappedBuffer(payload), address,
+            address));
+        channel.releaseInbound();
+        ++count;
+      }
+    } finally {
+      channel.finishAndReleaseAll();
+    }
+
+    logger.info("Replayed {} world state updates in {} ms", Unbox.box(count),
+        Unbox.box((System.nanoTime() - startTimestamp) / 1000000));
+  }
+}
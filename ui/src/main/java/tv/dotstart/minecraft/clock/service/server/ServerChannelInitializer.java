@@ -7,6 +7,7 @@ import javax.inject.Inject;
 import javax.inject.Provider;
 import javax.inject.Singleton;
 import tv.dotstart.minecraft.clock.network.WorldStatePacketDecoder;
+import tv.dotstart.minecraft.clock.service.record.WorldStateRecorder;
 
 /**
  * Handles the initialization of server channels created by the world state synchronization server
@@ -18,10 +19,13 @@ import tv.dotstart.minecraft.clock.network.WorldStatePacketDecoder;
 public class ServerChannelInitializer extends ChannelInitializer<DatagramChannel> {
 
   private final Provider<WorldStateHandler> worldStateHandlerProvider;
+  private final WorldStateRecorder worldStateRecorder;
 
   @Inject
-  public ServerChannelInitializer(@Nonnull Provider<WorldStateHandler> worldStateHandlerProvider) {
+  public ServerChannelInitializer(@Nonnull Provider<WorldStateHandler> worldStateHandlerProvider,
+      @Nonnull WorldStateRecorder worldStateRecorder) {
     this.worldStateHandlerProvider = worldStateHandlerProvider;
+    this.worldStateRecorder = worldStateRecorder;
   }
 
   /**
@@ -29,6 +33,10 @@ public class ServerChannelInitializer extends ChannelInitializer<DatagramChannel
    */
   @Override
   protected void initChannel(@Nonnull DatagramChannel ch) throws Exception {
+    if (this.worldStateRecorder.isEnabled()) {
+      ch.pipeline().addLast(this.worldStateRecorder);
+    }
+
     ch.pipeline()
         .addLast(new WorldStatePacketDecoder())
         .addLast(this.worldStateHandlerProvider.get());
@@ -1,14 +1,18 @@
 package tv.dotstart.minecraft.clock.service.server;
 
+import io.netty.channel.AddressedEnvelope;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
-import javafx.application.Platform;
+import java.net.InetSocketAddress;
 import javax.annotation.Nonnull;
 import javax.inject.Inject;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import tv.dotstart.minecraft.clock.controller.MainWindowController;
+import org.apache.logging.log4j.util.Unbox;
 import tv.dotstart.minecraft.clock.network.WorldStatePacket;
+import tv.dotstart.minecraft.clock.network.diagnostics.Diagnostics;
+import tv.dotstart.minecraft.clock.service.event.WorldStateEventBus;
+import tv.dotstart.minecraft.clock.service.event.WorldStateSources;
 
 /**
  * Handles incoming world state updates from local clients.
@@ -17,17 +21,15 @@ import tv.dotstart.minecraft.clock.network.WorldStatePacket;
  */
 public class WorldStateHandler extends ChannelInboundHandlerAdapter {
 
-  /**
-   * Defines the total amount of ticks which have to pass for a full day/night cycle to be
-   * completed.
-   */
-  public static final int MINECRAFT_DAY_LENGTH = 24000;
-  private static final Logger logger = LogManager.getFormatterLogger(WorldStateHandler.class);
-  private final MainWindowController controller;
+  private static final Logger logger = LogManager.getLogger(WorldStateHandler.class);
+  private final WorldStateEventBus eventBus;
+  private final WorldStateSources sources;
 
   @Inject
-  public WorldStateHandler(@Nonnull MainWindowController controller) {
-    this.controller = controller;
+  public WorldStateHandler(@Nonnull WorldStateEventBus eventBus,
+      @Nonnull WorldStateSources sources) {
+    this.eventBus = eventBus;
+    this.sources = sources;
   }
 
   /**
@@ -36,19 +38,23 @@ public class WorldStateHandler extends ChannelInboundHandlerAdapter {
   @Override
   public void channelRead(@Nonnull ChannelHandlerContext ctx, @Nonnull Object msg)
       throws Exception {
-    if (msg instanceof WorldStatePacket) {
-      logger.info("Processing incoming world state update");
-      WorldStatePacket packet = (WorldStatePacket) msg;
-
-      Platform.runLater(() -> {
-        logger.info("Updating state: World is at %d ticks (rain: %s)", packet.getTime(),
-            packet.isRaining() ? "on" : "off");
-
-        this.controller.setCycleTime(packet.getTime() / (double) MINECRAFT_DAY_LENGTH);
-        this.controller.setPaused(packet.isPaused());
-        this.controller.setRaining(packet.isRaining());
-        this.controller.refreshSynchronization();
-      });
+    if (msg instanceof AddressedEnvelope
+        && ((AddressedEnvelope) msg).content() instanceof WorldStatePacket) {
+      AddressedEnvelope<?, ?> envelope = (AddressedEnvelope<?, ?>) msg;
+      WorldStatePacket packet = (WorldStatePacket) envelope.content();
+      long timestamp = System.nanoTime();
+      int source = this.sources.getIdentifier((InetSocketAddress) envelope.sender(), timestamp);
+      Object diagnosticHandle = Diagnostics.beginWorldStateDispatch();
+
+      // sources are referred to by their identifier since formatting their address would
+      // allocate for every update
+      logger.info(
+          "Processing incoming world state update from source #{}: World is at {} ticks (rain: {})",
+          Unbox.box(source), Unbox.box(packet.getTime()), packet.isRaining() ? "on" : "off");
+      this.eventBus.publish(timestamp, source, packet.getTime(), packet.isPaused(),
+          packet.isRaining(), packet.getTickRate());
+
+      Diagnostics.commitWorldStateDispatch(diagnosticHandle, packet.getTime());
     }
 
     super.channelRead(ctx, msg);
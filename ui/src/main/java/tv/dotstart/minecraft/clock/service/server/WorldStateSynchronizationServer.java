@@ -3,8 +3,16 @@ package tv.dotstart.minecraft.clock.service.server;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollDatagramChannel;
+import io.netty.channel.epoll.EpollEventLoopGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.nio.NioDatagramChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import javax.annotation.Nonnull;
@@ -12,6 +20,7 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.util.Unbox;
 import tv.dotstart.minecraft.clock.service.ConfigurationService;
 
 /**
@@ -22,6 +31,15 @@ import tv.dotstart.minecraft.clock.service.ConfigurationService;
  *
  * <p>TODO: Allow users to configure the server's port number</p>
  *
+ * <p>When the {@code mineclock.server.channels} system property is set to a value greater than one
+ * (and the native epoll transport is available), the server binds the respective amount of
+ * channels to the same port using {@code SO_REUSEPORT}. The kernel distributes incoming datagrams
+ * among those channels (always delivering datagrams of a given sender to the same channel) and
+ * each channel is served by its own event loop thread while all of them publish to the same
+ * {@link tv.dotstart.minecraft.clock.service.event.WorldStateEventBus}. This permits ingest to
+ * scale with the available cores when a large number of game instances or relays report to a
+ * single instance.</p>
+ *
  * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
  */
 @Singleton
@@ -33,12 +51,12 @@ public class WorldStateSynchronizationServer {
    */
   public static final int DEFAULT_PORT = 52262;
   private static final Logger logger = LogManager
-      .getFormatterLogger(WorldStateSynchronizationServer.class);
+      .getLogger(WorldStateSynchronizationServer.class);
   private final ConfigurationService configurationService;
   private final Lock lock = new ReentrantLock();
   private final ServerChannelInitializer serverChannelInitializer;
-  private Channel channel;
-  private NioEventLoopGroup eventLoopGroup;
+  private final List<Channel> channels = new ArrayList<>();
+  private EventLoopGroup eventLoopGroup;
 
   @Inject
   public WorldStateSynchronizationServer(
@@ -50,8 +68,12 @@ public class WorldStateSynchronizationServer {
 
   /**
    * Evaluates whether or not to start the server upon startup.
+   *
+   * @return a future which completes once the server has been started (the server is started
+   * asynchronously in order to not delay the application startup).
    */
-  public void postStartup() {
+  @Nonnull
+  public CompletableFuture<Void> postStartup() {
     this.configurationService.allowSynchronizationProperty().addListener(
         (observable, oldValue, newValue) -> {
           if (newValue) {
@@ -62,8 +84,29 @@ public class WorldStateSynchronizationServer {
         });
 
     if (this.configurationService.isAllowSynchronization()) {
-      this.start();
+      return CompletableFuture.runAsync(this::start);
+    }
+
+    return CompletableFuture.completedFuture(null);
+  }
+
+  /**
+   * Retrieves the amount of channels which shall be bound to the standard port.
+   */
+  private static int getChannelCount() {
+    int count = Integer.getInteger("mineclock.server.channels", 1);
+
+    if (count <= 1) {
+      return 1;
+    }
+
+    if (!Epoll.isAvailable()) {
+      logger.warn("Cannot bind {} channels: Native epoll transport is unavailable ({})",
+          Unbox.box(count), Epoll.unavailabilityCause().getMessage());
+      return 1;
     }
+
+    return count;
   }
 
   /**
@@ -73,34 +116,55 @@ public class WorldStateSynchronizationServer {
     this.lock.lock();
 
     try {
-      if (this.channel != null) {
+      if (!this.channels.isEmpty()) {
         return;
       }
 
       logger.info("Initializing World State server ...");
-      this.eventLoopGroup = new NioEventLoopGroup();
+      int channelCount = getChannelCount();
 
       Bootstrap bootstrap = new Bootstrap()
-          .group(this.eventLoopGroup)
-          .channel(NioDatagramChannel.class)
           .handler(this.serverChannelInitializer);
 
-      logger.info("Binding to 127.0.0.1:%d", DEFAULT_PORT);
-      ChannelFuture future = bootstrap.bind("127.0.0.1", DEFAULT_PORT).awaitUninterruptibly();
+      if (channelCount > 1) {
+        this.eventLoopGroup = new EpollEventLoopGroup(channelCount);
+
+        bootstrap
+            .group(this.eventLoopGroup)
+            .channel(EpollDatagramChannel.class)
+            .option(EpollChannelOption.SO_REUSEPORT, true);
+      } else {
+        this.eventLoopGroup = new NioEventLoopGroup();
+
+        bootstrap
+            .group(this.eventLoopGroup)
+            .channel(NioDatagramChannel.class);
+      }
 
-      if (!future.isSuccess()) {
-        Throwable cause = future.cause();
+      logger.info("Binding {} channel(s) to 127.0.0.1:{}", Unbox.box(channelCount),
+          Unbox.box(DEFAULT_PORT));
+
+      for (int i = 0; i < channelCount; ++i) {
+        ChannelFuture future = bootstrap.bind("127.0.0.1", DEFAULT_PORT).awaitUninterruptibly();
+
+        if (!future.isSuccess()) {
+          Throwable cause = future.cause();
+
+          if (cause == null) {
+            cause = new IllegalStateException("Unknown Error");
+          }
 
-        if (cause == null) {
-          cause = new IllegalStateException("Unknown Error");
+          logger.error("Failed to start World State server: " + cause.getMessage(), cause);
+          this.channels.forEach((ch) -> ch.close().awaitUninterruptibly());
+          this.channels.clear();
+          this.eventLoopGroup.shutdownGracefully().awaitUninterruptibly();
+          return;
         }
 
-        logger.error("Failed to start World State server: " + cause.getMessage(), cause);
-        this.eventLoopGroup.shutdownGracefully().awaitUninterruptibly();
+        this.channels.add(future.channel());
       }
 
       logger.info("Successfully started World State server");
-      this.channel = future.channel();
     } finally {
       this.lock.unlock();
     }
@@ -113,15 +177,15 @@ public class WorldStateSynchronizationServer {
     this.lock.lock();
 
     try {
-      if (this.channel == null) {
+      if (this.channels.isEmpty()) {
         return;
       }
 
       logger.info("Shutting down World State server ...");
-      this.channel.close().awaitUninterruptibly();
+      this.channels.forEach((ch) -> ch.close().awaitUninterruptibly());
       this.eventLoopGroup.shutdownGracefully().awaitUninterruptibly();
 
-      this.channel = null;
+      this.channels.clear();
       logger.info("Server has been shut down");
     } finally {
       this.lock.unlock();
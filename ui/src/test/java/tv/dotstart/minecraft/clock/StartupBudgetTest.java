@@ -0,0 +1,91 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tv.dotstart.minecraft.clock;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import javafx.application.Platform;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * <p>Launches the application on a headless JavaFX platform and verifies that its startup
+ * completes within the budget given via the {@code mineclock.startup.budget} system property (in
+ * milliseconds).</p>
+ *
+ * <p>The application is launched against an empty storage directory with synchronization and
+ * broadcasting disabled in order to neither depend on nor interfere with a locally installed
+ * instance.</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class StartupBudgetTest {
+
+  private static final long STARTUP_TIMEOUT = TimeUnit.MINUTES.toMillis(2);
+
+  @Rule
+  public final TemporaryFolder directory = new TemporaryFolder();
+
+  @After
+  public void shutdown() {
+    Platform.exit();
+  }
+
+  @Test
+  public void testStartupWithinBudget() throws Exception {
+    long budget = Long.getLong("mineclock.startup.budget", 0);
+    assertTrue("No startup budget configured", budget > 0);
+
+    Files.write(this.directory.getRoot().toPath().resolve("application.cfg"), Arrays.asList(
+        "version=1",
+        "allow-synchronization=false",
+        "allow-broadcast=false"
+    ), StandardCharsets.UTF_8);
+    System.setProperty("mineclock.directory", this.directory.getRoot().getAbsolutePath());
+
+    Thread launcher = new Thread(() -> MineClockApplication.main(new String[0]), "launcher");
+    launcher.setDaemon(true);
+    launcher.start();
+
+    // the startup report is published via JMX once startup has been completed
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    ObjectName name = new ObjectName("tv.dotstart.minecraft.clock:type=StartupReport");
+    long deadline = System.currentTimeMillis() + STARTUP_TIMEOUT;
+
+    while (!server.isRegistered(name)) {
+      if (!launcher.isAlive() || System.currentTimeMillis() > deadline) {
+        fail("Application did not complete its startup");
+      }
+
+      Thread.sleep(50);
+    }
+
+    long duration = (Long) server.getAttribute(name, "TotalDuration");
+    assertTrue("Startup took " + duration + " ms (budget: " + budget + " ms)",
+        duration <= budget);
+  }
+}
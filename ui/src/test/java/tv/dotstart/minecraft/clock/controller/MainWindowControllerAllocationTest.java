@@ -0,0 +1,119 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tv.dotstart.minecraft.clock.controller;
+
+import static tv.dotstart.minecraft.clock.network.AllocationMeter.assertAllocations;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.sun.javafx.application.PlatformImpl;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.ResourceBundle;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import tv.dotstart.minecraft.clock.MineClockApplication;
+import tv.dotstart.minecraft.clock.inject.MineClockModule;
+import tv.dotstart.minecraft.clock.metrics.StartupReport;
+
+/**
+ * <p>Ensures that advancing the main window by a single pulse does not allocate while no world
+ * state updates arrive.</p>
+ *
+ * <p>The window is constructed on a headless JavaFX platform against an empty storage directory
+ * but is never shown (pulses are issued directly on the application thread instead).</p>
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class MainWindowControllerAllocationTest {
+
+  /**
+   * Defines the interval between two simulated pulses (in nanoseconds).
+   */
+  private static final long PULSE_INTERVAL = 16_666_667;
+
+  private static final long TIMEOUT = TimeUnit.MINUTES.toMillis(2);
+
+  @ClassRule
+  public static final TemporaryFolder directory = new TemporaryFolder();
+
+  private static MainWindowController controller;
+  private long now;
+
+  @BeforeClass
+  public static void prepare() throws Throwable {
+    Files.write(directory.getRoot().toPath().resolve("application.cfg"), Arrays.asList(
+        "version=1",
+        "allow-synchronization=false",
+        "allow-broadcast=false"
+    ), StandardCharsets.UTF_8);
+    System.setProperty("mineclock.directory", directory.getRoot().getAbsolutePath());
+
+    CountDownLatch latch = new CountDownLatch(1);
+    PlatformImpl.startup(latch::countDown);
+    latch.await(TIMEOUT, TimeUnit.MILLISECONDS);
+
+    Injector injector = Guice.createInjector(
+        new MineClockModule(new MineClockApplication(), new StartupReport(System.nanoTime())));
+    controller = injector.getInstance(MainWindowController.class);
+
+    // the window is attached to a stage since the controller expects to be able to resize it
+    runAndWait(() -> new Stage().setScene(new Scene(
+        MainWindowView.load(controller, injector.getInstance(ResourceBundle.class)))));
+  }
+
+  @AfterClass
+  public static void shutdown() {
+    Platform.exit();
+  }
+
+  /**
+   * Executes a task on the JavaFX application thread and waits for its completion (failures are
+   * rethrown on the calling thread).
+   */
+  private static void runAndWait(Runnable runnable) throws Throwable {
+    FutureTask<Void> task = new FutureTask<>(runnable, null);
+    Platform.runLater(task);
+
+    try {
+      task.get(TIMEOUT, TimeUnit.MILLISECONDS);
+    } catch (ExecutionException ex) {
+      throw ex.getCause();
+    }
+  }
+
+  @Test
+  public void testPulse() throws Throwable {
+    this.now = System.nanoTime();
+
+    runAndWait(() -> assertAllocations("Advancing a pulse", 0, () -> {
+      this.now += PULSE_INTERVAL;
+      controller.pulse(this.now);
+    }));
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tv.dotstart.minecraft.clock.service.event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import org.junit.Test;
+
+/**
+ * Validates the assignment and expiration of source identifiers.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class WorldStateSourcesTest {
+
+  private static final InetSocketAddress FIRST = new InetSocketAddress(
+      InetAddress.getLoopbackAddress(), 50000);
+  private static final InetSocketAddress SECOND = new InetSocketAddress(
+      InetAddress.getLoopbackAddress(), 50001);
+
+  private final WorldStateSources sources = new WorldStateSources();
+
+  @Test
+  public void testIdentifier() {
+    int first = this.sources.getIdentifier(FIRST, 0);
+    int second = this.sources.getIdentifier(SECOND, 0);
+
+    assertNotEquals(first, second);
+    assertEquals(first, this.sources.getIdentifier(FIRST, 1));
+    assertEquals(FIRST, this.sources.getAddress(first));
+    assertEquals(SECOND, this.sources.getAddress(second));
+  }
+
+  @Test
+  public void testExpiration() {
+    int first = this.sources.getIdentifier(FIRST, 0);
+    int second = this.sources.getIdentifier(SECOND, 0);
+
+    // the first source remains active while the second source expires
+    long now = WorldStateSources.EXPIRATION_DURATION;
+    this.sources.getIdentifier(FIRST, now);
+
+    // expired sources are released once a new source is encountered
+    int third = this.sources.getIdentifier(new InetSocketAddress(
+        InetAddress.getLoopbackAddress(), 50002), now + 1);
+
+    assertEquals(FIRST, this.sources.getAddress(first));
+    assertNull(this.sources.getAddress(second));
+    assertNotEquals(second, this.sources.getIdentifier(SECOND, now + 1));
+    assertNotEquals(third, this.sources.getIdentifier(SECOND, now + 1));
+  }
+}
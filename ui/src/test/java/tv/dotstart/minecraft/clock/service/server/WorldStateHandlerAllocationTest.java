@@ -0,0 +1,95 @@
+/*
+ * Copyright 2018 Johannes Donath <johannesd@torchmind.com>
+ * and other copyright owners as documented in the project's IP log.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tv.dotstart.minecraft.clock.service.server;
+
+import static org.junit.Assert.assertTrue;
+import static tv.dotstart.minecraft.clock.network.AllocationMeter.assertAllocations;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.channel.socket.DatagramPacket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import tv.dotstart.minecraft.clock.network.TickSamples;
+import tv.dotstart.minecraft.clock.network.WorldStatePacket;
+import tv.dotstart.minecraft.clock.network.WorldStatePacketDecoder;
+import tv.dotstart.minecraft.clock.service.event.WorldStateEvent;
+import tv.dotstart.minecraft.clock.service.event.WorldStateEventBus;
+import tv.dotstart.minecraft.clock.service.event.WorldStateSources;
+
+/**
+ * Ensures that dispatching incoming world state updates to the event bus does not allocate beyond
+ * the decoded packet and its envelope.
+ *
+ * @author <a href="mailto:johannesd@torchmind.com">Johannes Donath</a>
+ */
+public class WorldStateHandlerAllocationTest {
+
+  /**
+   * Defines the amount of memory which may be allocated for every received update (the decoded
+   * packet and the envelope which retains its origin).
+   */
+  private static final long DISPATCH_BUDGET = 96;
+
+  private final WorldStateEventBus eventBus = new WorldStateEventBus();
+  private final WorldStateEventBus.Subscription subscription = this.eventBus.subscribe();
+  private EmbeddedChannel channel;
+  private DatagramPacket datagram;
+
+  @Before
+  public void prepare() {
+    this.channel = new EmbeddedChannel(
+        new WorldStatePacketDecoder(),
+        new WorldStateHandler(this.eventBus, new WorldStateSources())
+    );
+
+    TickSamples samples = new TickSamples(16);
+    for (int i = 0; i < samples.capacity(); ++i) {
+      samples.record(24_000 + i * 20, i * 1_000_000_000L);
+    }
+
+    ByteBuf buffer = Unpooled.buffer(WorldStatePacket.getLength(samples.size()));
+    WorldStatePacket.write(buffer, 6000, false, true, samples);
+
+    InetAddress loopback = InetAddress.getLoopbackAddress();
+    this.datagram = new DatagramPacket(buffer, new InetSocketAddress(loopback, 52262),
+        new InetSocketAddress(loopback, 52263));
+  }
+
+  @After
+  public void release() {
+    this.channel.finishAndReleaseAll();
+    this.datagram.release();
+  }
+
+  @Test
+  public void testDispatch() {
+    assertAllocations("Dispatching an update", DISPATCH_BUDGET, () -> {
+      // the datagram is retained since the decoder releases it once it has been decoded
+      this.datagram.content().readerIndex(0);
+      this.channel.pipeline().fireChannelRead(this.datagram.retain());
+      this.channel.releaseInbound();
+    });
+
+    WorldStateEvent event = new WorldStateEvent();
+    assertTrue(this.subscription.pollLatest(event));
+  }
+}